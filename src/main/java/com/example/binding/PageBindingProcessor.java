@@ -0,0 +1,431 @@
+package com.example.binding;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Для каждого класса с @FindBy или @ShadowPath генерирует <Имя>_PageBinder, который присваивает полям ленивые элементы
+// без рефлексии и прокси, и реестр GeneratedPageBinders со списком классов текущей сборки.
+// Binder лежит в пакете страницы и пишет поля напрямую, поэтому поля-локаторы должны быть package-private
+@SupportedAnnotationTypes({
+        PageBindingProcessor.FIND_BY,
+        PageBindingProcessor.FIND_BYS,
+        PageBindingProcessor.FIND_ALL,
+        PageBindingProcessor.SHADOW_PATH
+})
+public class PageBindingProcessor extends AbstractProcessor {
+
+    static final String FIND_BY = "org.openqa.selenium.support.FindBy";
+    static final String FIND_BYS = "org.openqa.selenium.support.FindBys";
+    static final String FIND_ALL = "org.openqa.selenium.support.FindAll";
+    static final String SHADOW_PATH = "com.example.binding.ShadowPath";
+    private static final String CACHE_LOOKUP = "org.openqa.selenium.support.CacheLookup";
+    private static final String WEB_ELEMENT = "org.openqa.selenium.WebElement";
+    private static final String REGISTRY_PACKAGE = "com.example.binding";
+    private static final String REGISTRY_NAME = "GeneratedPageBinders";
+    private static final String BINDER_SUFFIX = "_PageBinder";
+
+    private final Set<String> registered = new LinkedHashSet<>();
+    private boolean registryWritten;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver() || annotations.isEmpty()) {
+            return false;
+        }
+
+        Set<TypeElement> pages = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.FIELD) {
+                    pages.add((TypeElement) element.getEnclosingElement());
+                }
+            }
+        }
+
+        for (TypeElement page : pages) {
+            try {
+                writeBinder(page, pages);
+                registered.add(page.getQualifiedName().toString());
+            } catch (IOException e) {
+                error(page, "Не удалось записать binder: " + e.getMessage());
+            }
+        }
+
+        // Все исходники с @FindBy приходят в первом раунде, реестр пишем один раз
+        if (!registryWritten && !registered.isEmpty()) {
+            writeRegistry();
+            registryWritten = true;
+        }
+        return false;
+    }
+
+    private void writeBinder(TypeElement page, Set<TypeElement> pages) throws IOException {
+        String packageName = packageOf(page);
+        String binderName = binderName(page);
+        String pageName = page.getQualifiedName().toString();
+
+        List<String> constants = new ArrayList<>();
+        List<String> assignments = new ArrayList<>();
+        List<String> locators = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(page.getEnclosedElements())) {
+            String by = locator(field);
+            if (by == null) {
+                continue;
+            }
+            String name = field.getSimpleName().toString();
+            String constant = constantName(name);
+            boolean list = isWebElementList(field.asType());
+            boolean cache = annotation(field, CACHE_LOOKUP) != null;
+            constants.add("private static final By " + constant + " = " + by + ";");
+            assignments.add("page." + name + " = elements." + (list ? "list" : "element")
+                    + "(" + constant + ", " + cache + ");");
+            // В снимок состояния страницы попадают одиночные элементы, списки в нём не описываются
+            if (!list) {
+                locators.add("locators.put(" + literal(name) + ", " + constant + ");");
+            }
+        }
+
+        TypeElement parent = annotatedSuperclass(page, pages);
+
+        try (Writer writer = processingEnv.getFiler()
+                .createSourceFile(packageName + "." + binderName, page)
+                .openWriter();
+             PrintWriter out = new PrintWriter(writer)) {
+            out.println("package " + packageName + ";");
+            out.println();
+            out.println("import com.example.binding.ElementCache;");
+            out.println("import com.example.binding.PageBinder;");
+            out.println("import org.openqa.selenium.By;");
+            out.println();
+            out.println("import java.util.Map;");
+            out.println();
+            out.println("public final class " + binderName + " implements PageBinder<" + pageName + "> {");
+            out.println();
+            for (String constant : constants) {
+                out.println("    " + constant);
+            }
+            if (!constants.isEmpty()) {
+                out.println();
+            }
+            out.println("    @Override");
+            out.println("    public void bind(" + pageName + " page, ElementCache elements) {");
+            if (parent != null) {
+                out.println("        new " + packageOf(parent) + "." + binderName(parent) + "().bind(page, elements);");
+            }
+            for (String assignment : assignments) {
+                out.println("        " + assignment);
+            }
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public void collectLocators(Map<String, By> locators) {");
+            if (parent != null) {
+                out.println("        new " + packageOf(parent) + "." + binderName(parent) + "().collectLocators(locators);");
+            }
+            for (String locator : locators) {
+                out.println("        " + locator);
+            }
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    private void writeRegistry() {
+        try (Writer writer = processingEnv.getFiler()
+                .createSourceFile(REGISTRY_PACKAGE + "." + REGISTRY_NAME)
+                .openWriter();
+             PrintWriter out = new PrintWriter(writer)) {
+            out.println("package " + REGISTRY_PACKAGE + ";");
+            out.println();
+            out.println("import java.util.Collections;");
+            out.println("import java.util.HashMap;");
+            out.println("import java.util.Map;");
+            out.println("import java.util.Set;");
+            out.println();
+            out.println("public final class " + REGISTRY_NAME + " {");
+            out.println();
+            out.println("    private static final Map<Class<?>, PageBinder<?>> BINDERS = new HashMap<>();");
+            out.println();
+            out.println("    static {");
+            for (String page : registered) {
+                TypeElement type = processingEnv.getElementUtils().getTypeElement(page);
+                out.println("        BINDERS.put(" + page + ".class, new "
+                        + packageOf(type) + "." + binderName(type) + "());");
+            }
+            out.println("    }");
+            out.println();
+            out.println("    private " + REGISTRY_NAME + "() {");
+            out.println("    }");
+            out.println();
+            out.println("    static Set<Class<?>> types() {");
+            out.println("        return Collections.unmodifiableSet(BINDERS.keySet());");
+            out.println("    }");
+            out.println("}");
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Не удалось записать " + REGISTRY_NAME + ": " + e.getMessage());
+        }
+    }
+
+    private String locator(VariableElement field) {
+        if (field.getModifiers().contains(Modifier.STATIC)) {
+            return null;
+        }
+        boolean list = isWebElementList(field.asType());
+        boolean single = isWebElement(field.asType());
+        AnnotationMirror findBy = annotation(field, FIND_BY);
+        AnnotationMirror findBys = annotation(field, FIND_BYS);
+        AnnotationMirror findAll = annotation(field, FIND_ALL);
+        AnnotationMirror shadowPath = annotation(field, SHADOW_PATH);
+        boolean annotated = findBy != null || findBys != null || findAll != null || shadowPath != null;
+
+        // Как и PageFactory: WebElement без аннотации ищется по id или name, совпадающему с именем поля,
+        // а List<WebElement> без аннотации не трогаем
+        if (!single && !(list && annotated)) {
+            if (annotated) {
+                error(field, "@FindBy поддерживается только для WebElement и List<WebElement>");
+            }
+            return null;
+        }
+        if (field.getModifiers().contains(Modifier.PRIVATE) || field.getModifiers().contains(Modifier.FINAL)) {
+            error(field, "Поле с локатором не должно быть private или final: binder присваивает его напрямую");
+            return null;
+        }
+        if ((findBy != null ? 1 : 0) + (findBys != null ? 1 : 0) + (findAll != null ? 1 : 0)
+                + (shadowPath != null ? 1 : 0) > 1) {
+            error(field, "Можно указать только одну из аннотаций @FindBy, @FindBys, @FindAll, @ShadowPath");
+            return null;
+        }
+
+        if (findBy != null) {
+            return byExpression(field, findBy);
+        }
+        if (findBys != null) {
+            String nested = nestedBys(field, findBys);
+            return nested == null ? null : "new org.openqa.selenium.support.pagefactory.ByChained(" + nested + ")";
+        }
+        if (findAll != null) {
+            String nested = nestedBys(field, findAll);
+            return nested == null ? null : "new org.openqa.selenium.support.pagefactory.ByAll(" + nested + ")";
+        }
+        if (shadowPath != null) {
+            return shadowPathExpression(field, shadowPath);
+        }
+        return "new org.openqa.selenium.support.pagefactory.ByIdOrName("
+                + literal(field.getSimpleName().toString()) + ")";
+    }
+
+    private static String constantName(String fieldName) {
+        return fieldName.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase() + "_LOCATOR";
+    }
+
+    private String nestedBys(VariableElement field, AnnotationMirror container) {
+        List<String> bys = new ArrayList<>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : container.getElementValues().entrySet()) {
+            if (!entry.getKey().getSimpleName().contentEquals("value")) {
+                continue;
+            }
+            @SuppressWarnings("unchecked")
+            List<? extends AnnotationValue> values = (List<? extends AnnotationValue>) entry.getValue().getValue();
+            for (AnnotationValue value : values) {
+                String by = byExpression(field, (AnnotationMirror) value.getValue());
+                if (by == null) {
+                    return null;
+                }
+                bys.add(by);
+            }
+        }
+        return String.join(", ", bys);
+    }
+
+    private String shadowPathExpression(VariableElement field, AnnotationMirror shadowPath) {
+        List<String> selectors = new ArrayList<>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : shadowPath.getElementValues().entrySet()) {
+            @SuppressWarnings("unchecked")
+            List<? extends AnnotationValue> values = (List<? extends AnnotationValue>) entry.getValue().getValue();
+            for (AnnotationValue value : values) {
+                String selector = (String) value.getValue();
+                if (selector.isBlank()) {
+                    error(field, "Пустой селектор в @ShadowPath");
+                    return null;
+                }
+                selectors.add(literal(selector));
+            }
+        }
+        if (selectors.size() < 2) {
+            error(field, "В @ShadowPath нужны хотя бы селектор хоста и селектор элемента внутри него");
+            return null;
+        }
+        return "new com.example.binding.ByShadowPath(" + String.join(", ", selectors) + ")";
+    }
+
+    private String byExpression(VariableElement field, AnnotationMirror findBy) {
+        Map<String, String> strategies = new LinkedHashMap<>();
+        String how = null;
+        String using = null;
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : findBy.getElementValues().entrySet()) {
+            String name = entry.getKey().getSimpleName().toString();
+            Object value = entry.getValue().getValue();
+            if ("how".equals(name)) {
+                how = ((VariableElement) value).getSimpleName().toString();
+            } else if ("using".equals(name)) {
+                using = (String) value;
+            } else if (!"".equals(value)) {
+                strategies.put(name, (String) value);
+            }
+        }
+
+        if (how != null && !"UNSET".equals(how)) {
+            if (using == null) {
+                error(field, "Если задан how, нужно задать и using");
+                return null;
+            }
+            strategies.put(howToAttribute(how), using);
+        }
+        if (strategies.size() != 1) {
+            error(field, "В @FindBy нужно указать ровно один способ поиска, указано: " + strategies.keySet());
+            return null;
+        }
+
+        Map.Entry<String, String> strategy = strategies.entrySet().iterator().next();
+        String value = literal(strategy.getValue());
+        switch (strategy.getKey()) {
+            case "id":
+                return "By.id(" + value + ")";
+            case "name":
+                return "By.name(" + value + ")";
+            case "className":
+                return "By.className(" + value + ")";
+            case "css":
+                return "By.cssSelector(" + value + ")";
+            case "tagName":
+                return "By.tagName(" + value + ")";
+            case "linkText":
+                return "By.linkText(" + value + ")";
+            case "partialLinkText":
+                return "By.partialLinkText(" + value + ")";
+            case "xpath":
+                return "By.xpath(" + value + ")";
+            case "idOrName":
+                return "new org.openqa.selenium.support.pagefactory.ByIdOrName(" + value + ")";
+            default:
+                error(field, "Неизвестный способ поиска в @FindBy: " + strategy.getKey());
+                return null;
+        }
+    }
+
+    private static String howToAttribute(String how) {
+        switch (how) {
+            case "CLASS_NAME":
+                return "className";
+            case "CSS":
+                return "css";
+            case "ID":
+                return "id";
+            case "ID_OR_NAME":
+                return "idOrName";
+            case "LINK_TEXT":
+                return "linkText";
+            case "NAME":
+                return "name";
+            case "PARTIAL_LINK_TEXT":
+                return "partialLinkText";
+            case "TAG_NAME":
+                return "tagName";
+            case "XPATH":
+                return "xpath";
+            default:
+                return how;
+        }
+    }
+
+    private TypeElement annotatedSuperclass(TypeElement page, Set<TypeElement> pages) {
+        TypeMirror superclass = page.getSuperclass();
+        while (superclass.getKind() == TypeKind.DECLARED) {
+            TypeElement type = (TypeElement) ((DeclaredType) superclass).asElement();
+            if (pages.contains(type) || registered.contains(type.getQualifiedName().toString())) {
+                return type;
+            }
+            superclass = type.getSuperclass();
+        }
+        return null;
+    }
+
+    private boolean isWebElement(TypeMirror type) {
+        TypeElement webElement = processingEnv.getElementUtils().getTypeElement(WEB_ELEMENT);
+        return webElement != null && processingEnv.getTypeUtils().isSameType(type, webElement.asType());
+    }
+
+    private boolean isWebElementList(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        DeclaredType declared = (DeclaredType) type;
+        return ((TypeElement) declared.asElement()).getQualifiedName().contentEquals("java.util.List")
+                && declared.getTypeArguments().size() == 1
+                && isWebElement(declared.getTypeArguments().get(0));
+    }
+
+    private static AnnotationMirror annotation(Element element, String type) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(type)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private String packageOf(TypeElement type) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        return pkg.getQualifiedName().toString();
+    }
+
+    private static String binderName(TypeElement type) {
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+        for (Element outer = type.getEnclosingElement(); outer instanceof TypeElement; outer = outer.getEnclosingElement()) {
+            name.insert(0, outer.getSimpleName() + "_");
+        }
+        return name + BINDER_SUFFIX;
+    }
+
+    private String literal(String value) {
+        return processingEnv.getElementUtils().getConstantExpression(value);
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
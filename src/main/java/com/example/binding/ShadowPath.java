@@ -0,0 +1,16 @@
+package com.example.binding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Путь к элементу внутри Shadow DOM: CSS-селекторы хостов по порядку вложенности, последний селектор
+// ищется в самом вложенном теневом корне. Только CSS: другие стратегии в теневом корне браузеры не поддерживают.
+// Обрабатывается PageBindingProcessor наравне с @FindBy
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface ShadowPath {
+
+    String[] value();
+}
@@ -1,53 +1,43 @@
 package com.example;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.example.listeners.DriverExtension;
+import com.example.wait.DomWait;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.interactions.Actions;
 
+import java.time.Duration;
+
+@ExtendWith(DriverExtension.class)
+@Execution(ExecutionMode.CONCURRENT)
 public class DragAndDropTest {
 
     private WebDriver driver;
     private Actions actions;
 
     @BeforeEach
-    public void setup() {
-        WebDriverManager.chromedriver().setup();
-        driver = new ChromeDriver();
-        driver.manage().window().maximize();
+    public void setup(WebDriver driver) {
+        this.driver = driver;
         actions = new Actions(driver);
         driver.get("https://bonigarcia.dev/selenium-webdriver-java/drag-and-drop.html");
     }
 
-    @AfterEach
-    public void teardown() {
-        if (driver != null) {
-            driver.quit();
-        }
-    }
-
     @Test
     public void testDragAndDrop() {
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
-        WebElement draggable = driver.findElement(By.id("draggable"));
-        WebElement target = driver.findElement(By.id("target"));
+        DomWait domWait = new DomWait(driver).within(Duration.ofSeconds(5));
+        WebElement draggable = domWait.visible(By.id("draggable"));
+        WebElement target = domWait.visible(By.id("target"));
 
         actions.clickAndHold(draggable)
                 .moveToElement(target)
                 .release()
                 .build()
                 .perform();
-        try {
-            Thread.sleep(3000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        // Перетаскивание меняет style элемента; ждём, пока DOM успокоится, вместо паузы в 3 секунды
+        domWait.quiet(Duration.ofMillis(300));
 
         System.out.println("Тест завершен!");
     }
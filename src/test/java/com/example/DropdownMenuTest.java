@@ -1,9 +1,13 @@
 package com.example;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.example.listeners.DriverExtension;
+import com.example.wait.DomWait;
+import com.example.wait.PageReadiness;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -12,35 +16,30 @@ import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+@ExtendWith(DriverExtension.class)
+@Execution(ExecutionMode.CONCURRENT)
 public class DropdownMenuTest {
 
     private WebDriver driver;
     private WebDriverWait wait;
+    private DomWait domWait;
+    private PageReadiness readiness;
     private Actions actions;
     private final String TEST_PAGE_URL = "https://bonigarcia.dev/selenium-webdriver-java/dropdown-menu.html";
 
     @BeforeEach
-    public void setup() {
-        WebDriverManager.chromedriver().setup();
-        driver = new ChromeDriver();
-        driver.manage().window().maximize();
+    public void setup(WebDriver driver) {
+        this.driver = driver;
         wait = new WebDriverWait(driver, Duration.ofSeconds(5));
+        domWait = new DomWait(driver).within(Duration.ofSeconds(5));
         driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(2));
         actions = new Actions(driver);
+        readiness = PageReadiness.of(driver);
         driver.get(TEST_PAGE_URL);
     }
 
-    @AfterEach
-    public void teardown() {
-        if (driver != null) {
-            driver.quit();
-        }
-    }
-
     private void clickContextMenuItem(String contextMenuId, String itemText) {
-        WebElement contextMenu = wait.until(
-                ExpectedConditions.visibilityOfElementLocated(By.id(contextMenuId))
-        );
+        WebElement contextMenu = domWait.visible(By.id(contextMenuId));
 
         WebElement menuItem = contextMenu.findElement(
                 By.xpath(".//a[contains(@class, 'dropdown-item') and text()='" + itemText + "']")
@@ -62,11 +61,7 @@ public class DropdownMenuTest {
     public void testRightClickMenu() {
         WebElement rightClickButton = driver.findElement(By.id("my-dropdown-2"));
         actions.contextClick(rightClickButton).perform();
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        readiness.awaitAnimationsIdle(Duration.ofSeconds(1));
         clickContextMenuItem("context-menu-2", "Another action");
     }
 
@@ -75,11 +70,7 @@ public class DropdownMenuTest {
     public void testDoubleClickMenu() {
         WebElement doubleClickButton = driver.findElement(By.id("my-dropdown-3"));
         actions.doubleClick(doubleClickButton).perform();
-        try {
-            Thread.sleep(500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        readiness.awaitAnimationsIdle(Duration.ofMillis(500));
         clickContextMenuItem("context-menu-3", "Something else here");
     }
 }
\ No newline at end of file
@@ -1,9 +1,13 @@
 package com.example;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.example.listeners.DriverExtension;
+import com.example.wait.DomWait;
+import com.example.wait.PageReadiness;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
@@ -11,30 +15,21 @@ import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+@ExtendWith(DriverExtension.class)
+@Execution(ExecutionMode.CONCURRENT)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 public class PaginationTest {
 
-    private static WebDriver driver;
-    private static WebDriverWait wait;
+    private WebDriver driver;
+    private WebDriverWait wait;
+    private PageReadiness readiness;
     private static final String BASE_URL = "https://bonigarcia.dev/selenium-webdriver-java/navigation1.html";
 
-    @BeforeAll
-    public static void setUp() {
-        WebDriverManager.chromedriver().setup();
-        driver = new ChromeDriver();
-        wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-        driver.manage().window().maximize();
-    }
-
-    @AfterAll
-    public static void tearDown() {
-        if (driver != null) {
-            driver.quit();
-        }
-    }
-
     @BeforeEach
-    public void goToFirstPage() {
+    public void goToFirstPage(WebDriver driver) {
+        this.driver = driver;
+        wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        readiness = PageReadiness.of(driver);
         driver.get(BASE_URL);
     }
 
@@ -48,8 +43,9 @@ public class PaginationTest {
                 // Проверяем, не disabled ли родительский элемент
                 WebElement parent = link.findElement(By.xpath(".."));
                 if (!parent.getAttribute("class").contains("disabled")) {
+                    String url = driver.getCurrentUrl();
                     link.click();
-                    waitForPage();
+                    waitForPage(url);
                     return;
                 }
             }
@@ -57,13 +53,10 @@ public class PaginationTest {
         throw new NoSuchElementException("Кнопка с текстом '" + buttonText + "' не найдена или disabled");
     }
 
-    private void waitForPage() {
-        wait.until(ExpectedConditions.jsReturnsValue("return document.readyState === 'complete'"));
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+    // Переход на другую страницу пагинации: ждём новый URL и тишину сети вместо паузы в секунду
+    private void waitForPage(String previousUrl) {
+        new DomWait(driver).within(Duration.ofSeconds(10)).urlChanges(previousUrl);
+        readiness.awaitStable(Duration.ofSeconds(1));
     }
 
     private String getPageText() {
@@ -0,0 +1,144 @@
+package com.example.benchmark;
+
+import com.example.driver.BrowserContextIsolation;
+import com.example.driver.DriverFactory;
+import com.example.driver.ProcessMetrics;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("benchmark")
+public class BrowserContextBenchmark {
+
+    private static final String URL = "https://bonigarcia.dev/selenium-webdriver-java/web-form.html";
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 10);
+    private static final int CONCURRENT_SESSIONS = Integer.getInteger("benchmark.concurrency", 4);
+    private static final long SAMPLE_INTERVAL_MILLIS = 100;
+
+    @Test
+    public void compareProcessAndBrowserContextIsolation() {
+        assertTrue(ProcessMetrics.isSupported(), "Замер памяти поддерживается только на Linux (/proc)");
+
+        long[] processSetup = measureProcessPerTest();
+        long processPeak = peakPssWithProcesses();
+        long[] contextSetup = measureBrowserContexts();
+        long contextPeak = peakPssWithContexts();
+
+        String report = String.format("Итераций: %d, одновременных сессий: %d%n" +
+                        "PROCESS:         setup avg %.0f ms, max %d ms, пиковый PSS %s%n" +
+                        "BROWSER_CONTEXT: setup avg %.0f ms, max %d ms, пиковый PSS %s%n",
+                ITERATIONS, CONCURRENT_SESSIONS,
+                Timings.average(processSetup), Timings.max(processSetup), ProcessMetrics.formatMegabytes(processPeak),
+                Timings.average(contextSetup), Timings.max(contextSetup), ProcessMetrics.formatMegabytes(contextPeak));
+
+        System.out.println(report);
+        Allure.addAttachment("Сравнение режимов изоляции", "text/plain", report);
+    }
+
+    private long[] measureProcessPerTest() {
+        long[] setupMillis = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            WebDriver driver = DriverFactory.createDefaultDriver();
+            setupMillis[i] = Timings.elapsedMillis(start);
+            try {
+                driver.get(URL);
+            } finally {
+                driver.quit();
+            }
+        }
+        return setupMillis;
+    }
+
+    private long[] measureBrowserContexts() {
+        long[] setupMillis = new long[ITERATIONS];
+        WebDriver host = DriverFactory.createDefaultDriver();
+        try {
+            String homeHandle = host.getWindowHandle();
+            for (int i = 0; i < ITERATIONS; i++) {
+                long start = System.nanoTime();
+                String contextId = BrowserContextIsolation.open(host);
+                setupMillis[i] = Timings.elapsedMillis(start);
+                host.get(URL);
+                BrowserContextIsolation.close(host, homeHandle, contextId);
+            }
+        } finally {
+            host.quit();
+        }
+        return setupMillis;
+    }
+
+    private long peakPssWithProcesses() {
+        List<WebDriver> drivers = new ArrayList<>();
+        try (PeakMemory memory = new PeakMemory()) {
+            for (int i = 0; i < CONCURRENT_SESSIONS; i++) {
+                WebDriver driver = DriverFactory.createDefaultDriver();
+                drivers.add(driver);
+                driver.get(URL);
+            }
+            return memory.peak();
+        } finally {
+            drivers.forEach(WebDriver::quit);
+        }
+    }
+
+    private long peakPssWithContexts() {
+        WebDriver host = DriverFactory.createDefaultDriver();
+        try {
+            String homeHandle = host.getWindowHandle();
+            List<String> contexts = new ArrayList<>();
+            long peak;
+            try (PeakMemory memory = new PeakMemory()) {
+                for (int i = 0; i < CONCURRENT_SESSIONS; i++) {
+                    contexts.add(BrowserContextIsolation.open(host));
+                    host.get(URL);
+                }
+                peak = memory.peak();
+            }
+            contexts.forEach(contextId -> BrowserContextIsolation.close(host, homeHandle, contextId));
+            return peak;
+        } finally {
+            host.quit();
+        }
+    }
+
+    // Максимум по замерам в фоне, пока открываются сессии и грузятся страницы: один замер в конце
+    // пропустил бы пик запуска браузеров
+    private static final class PeakMemory implements AutoCloseable {
+
+        private final AtomicLong peak = new AtomicLong();
+        private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "benchmark-memory-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        private PeakMemory() {
+            sampler.scheduleAtFixedRate(this::sample, 0, SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        private void sample() {
+            peak.accumulateAndGet(ProcessMetrics.descendantsPssBytes(), Math::max);
+        }
+
+        private long peak() {
+            sample();
+            return peak.get();
+        }
+
+        @Override
+        public void close() {
+            sampler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.benchmark;
+
+import com.example.driver.BrowserProfile;
+import com.example.driver.DriverFactory;
+import com.example.driver.ProcessMetrics;
+import com.example.manager.PageManager;
+import com.example.pages.WebFormPage;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Tag("benchmark")
+public class BrowserProfileBenchmark {
+
+    private static final String URL = "https://bonigarcia.dev/selenium-webdriver-java/web-form.html";
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 5);
+
+    @Test
+    public void compareBrowserProfiles() {
+        StringBuilder report = new StringBuilder(String.format("%-8s %-14s %12s %12s %14s %12s%n",
+                "Браузер", "Профиль", "launch avg", "launch max", "test avg", "RSS max"));
+
+        for (DriverFactory.BrowserType browser : browsers()) {
+            for (BrowserProfile profile : BrowserProfile.values()) {
+                report.append(measure(browser, profile));
+            }
+        }
+
+        System.out.println(report);
+        Allure.addAttachment("Сравнение профилей браузера", "text/plain", report.toString());
+    }
+
+    private String measure(DriverFactory.BrowserType browser, BrowserProfile profile) {
+        long[] launchMillis = new long[ITERATIONS];
+        long[] testMillis = new long[ITERATIONS];
+        long peakRss = 0;
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            WebDriver driver = DriverFactory.createDriver(browser, profile);
+            launchMillis[i] = Timings.elapsedMillis(start);
+            try {
+                start = System.nanoTime();
+                runScenario(driver);
+                testMillis[i] = Timings.elapsedMillis(start);
+                peakRss = Math.max(peakRss, ProcessMetrics.descendantsRssBytes());
+            } finally {
+                driver.quit();
+            }
+        }
+
+        return String.format("%-8s %-14s %9.0f ms %9d ms %11.0f ms %12s%n",
+                browser, profile,
+                Timings.average(launchMillis), Timings.max(launchMillis),
+                Timings.average(testMillis),
+                ProcessMetrics.isSupported() ? ProcessMetrics.formatMegabytes(peakRss) : "n/a");
+    }
+
+    private void runScenario(WebDriver driver) {
+        PageManager pageManager = new PageManager(driver);
+        pageManager.openWebFormPage(URL);
+
+        WebFormPage webFormPage = pageManager.getWebFormPage();
+        webFormPage.setTextInput("Benchmark");
+        webFormPage.setTextarea("Benchmark");
+        webFormPage.selectDropdownOptionByValue("2");
+        webFormPage.submitForm();
+    }
+
+    private static List<DriverFactory.BrowserType> browsers() {
+        return Arrays.stream(System.getProperty("benchmark.browsers", "CHROME").split(","))
+                .map(String::trim)
+                .map(String::toUpperCase)
+                .map(DriverFactory.BrowserType::valueOf)
+                .collect(Collectors.toList());
+    }
+}
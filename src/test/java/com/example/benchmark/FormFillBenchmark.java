@@ -0,0 +1,71 @@
+package com.example.benchmark;
+
+import com.example.driver.DriverFactory;
+import com.example.form.FillStrategy;
+import com.example.form.FormFillResult;
+import com.example.pages.BasePage;
+import com.example.pages.LoginPage;
+import com.example.pages.WebFormPage;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+@Tag("benchmark")
+public class FormFillBenchmark {
+
+    private static final String WEB_FORM_URL = "https://bonigarcia.dev/selenium-webdriver-java/web-form.html";
+    private static final String LOGIN_URL = "https://bonigarcia.dev/selenium-webdriver-java/login-form.html";
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 10);
+
+    @Test
+    public void compareNativeAndKeystrokeFill() {
+        Map<String, String> webForm = new LinkedHashMap<>();
+        webForm.put("textInput", "John Doe");
+        webForm.put("passwordInput", "Secret123!");
+        webForm.put("textarea", "Комментарий для теста");
+        webForm.put("selectElement", "2");
+        webForm.put("datalistInput", "New York");
+        webForm.put("radioButton", "true");
+        webForm.put("checkbox", "true");
+
+        Map<String, String> login = new LinkedHashMap<>();
+        login.put("usernameInput", "user");
+        login.put("passwordInput", "user");
+
+        WebDriver driver = DriverFactory.createDefaultDriver();
+        try {
+            StringBuilder report = new StringBuilder(String.format("Итераций: %d%n", ITERATIONS));
+            report.append(measure(driver, WEB_FORM_URL, WebFormPage::new, webForm));
+            report.append(measure(driver, LOGIN_URL, LoginPage::new, login));
+
+            System.out.println(report);
+            Allure.addAttachment("Заполнение форм: NATIVE и KEYSTROKES", "text/plain", report.toString());
+        } finally {
+            driver.quit();
+        }
+    }
+
+    private String measure(WebDriver driver, String url, Function<WebDriver, BasePage> page,
+                           Map<String, String> values) {
+        StringBuilder report = new StringBuilder();
+        for (FillStrategy strategy : FillStrategy.values()) {
+            long[] micros = new long[ITERATIONS];
+            FormFillResult last = null;
+            for (int i = 0; i < ITERATIONS; i++) {
+                // Каждая итерация на свежей странице, чтобы не заполнять уже заполненные поля
+                driver.get(url);
+                last = page.apply(driver).fill(values, strategy);
+                micros[i] = last.getElapsedNanos() / 1_000;
+            }
+            report.append(String.format("%-12s %-10s median %.1f ms, max %.1f ms, с клавиатуры: %s%n",
+                    last.getForm(), strategy, Timings.median(micros) / 1000.0, Timings.max(micros) / 1000.0,
+                    last.getKeystrokeFields().isEmpty() ? "нет" : last.getKeystrokeFields()));
+        }
+        return report.toString();
+    }
+}
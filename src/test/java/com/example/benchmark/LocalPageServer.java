@@ -0,0 +1,78 @@
+package com.example.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+// Локальные копии страниц для стабильных замеров: скачиваются один раз и раздаются с localhost,
+// сеть и сервер сайта на время поиска элементов не влияют
+final class LocalPageServer implements AutoCloseable {
+
+    private final Path dir;
+    private final String baseUrl;
+    private HttpServer server;
+
+    LocalPageServer(Path dir, String baseUrl) {
+        this.dir = dir.toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    LocalPageServer start(List<String> pages) throws IOException, InterruptedException {
+        Files.createDirectories(dir);
+        HttpClient client = HttpClient.newHttpClient();
+        for (String page : pages) {
+            Path file = dir.resolve(page);
+            if (Files.exists(file)) {
+                continue;
+            }
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(URI.create(baseUrl + page)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("Страница " + baseUrl + page + " недоступна: HTTP " + response.statusCode());
+            }
+            // base href: стили и скрипты грузятся с сайта, разметка — локальная
+            Files.writeString(file, response.body().replaceFirst("(?i)<head>",
+                    "<head><base href=\"" + baseUrl + "\">"));
+        }
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            Path file = dir.resolve(exchange.getRequestURI().getPath().substring(1)).normalize();
+            byte[] body = file.startsWith(dir) && Files.isRegularFile(file) ? Files.readAllBytes(file) : null;
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "text/html; charset=" + StandardCharsets.UTF_8.name());
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        return this;
+    }
+
+    String url(String page) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/" + page;
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.benchmark;
+
+import com.example.binding.BrowserLocators;
+import com.example.binding.PageBinding;
+import com.example.driver.DriverFactory;
+import com.example.pages.DownloadPage;
+import com.example.pages.LoginPage;
+import com.example.pages.MainPage;
+import com.example.pages.ShadowDomPage;
+import com.example.pages.WebFormPage;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@Tag("benchmark")
+public class LocatorBenchmark {
+
+    private static final String SCRIPT = BrowserLocators.script("/scripts/locator-timing.js");
+    private static final String BASE_URL = System.getProperty("benchmark.locators.baseUrl",
+            "https://bonigarcia.dev/selenium-webdriver-java/");
+    private static final Path PAGES_DIR = Paths.get(System.getProperty("benchmark.locators.pagesDir",
+            System.getProperty("user.dir") + "/target/locator-pages"));
+    private static final int BROWSER_ITERATIONS = Integer.getInteger("benchmark.locators.iterations", 2000);
+    private static final int DRIVER_ITERATIONS = Integer.getInteger("benchmark.iterations", 20);
+    // Предлагаем замену, только если она заметно быстрее: мелкие различия тонут в шуме замера
+    private static final double MIN_SPEEDUP = 1.5;
+
+    // Страница сайта для каждого page object; компоненты проверяются на всех страницах по очереди
+    private static final Map<Class<?>, String> PAGES = new LinkedHashMap<>();
+
+    static {
+        PAGES.put(MainPage.class, "index.html");
+        PAGES.put(LoginPage.class, "login-form.html");
+        PAGES.put(WebFormPage.class, "web-form.html");
+        PAGES.put(DownloadPage.class, "download.html");
+        PAGES.put(ShadowDomPage.class, "shadow-dom.html");
+    }
+
+    @Test
+    public void rankPageObjectLocators() throws IOException, InterruptedException {
+        List<Class<?>> types = PageBinding.boundTypes().stream()
+                .filter(type -> type.getPackageName().equals("com.example.pages")
+                        || type.getPackageName().equals("com.example.components"))
+                .sorted(Comparator.comparing(Class::getName))
+                .collect(Collectors.toList());
+        assertFalse(types.isEmpty(), "Не найдено page object'ов с @FindBy");
+
+        List<Row> rows = new ArrayList<>();
+        WebDriver driver = DriverFactory.createDefaultDriver();
+        try (LocalPageServer server = new LocalPageServer(PAGES_DIR, BASE_URL)
+                .start(new ArrayList<>(PAGES.values()))) {
+            for (Class<?> type : types) {
+                Map<String, By> pending = new LinkedHashMap<>(PageBinding.locators(type));
+                List<String> pages = PAGES.containsKey(type)
+                        ? List.of(PAGES.get(type)) : new ArrayList<>(PAGES.values());
+                for (String page : pages) {
+                    if (pending.isEmpty()) {
+                        break;
+                    }
+                    driver.get(server.url(page));
+                    analyze(driver, type, page, pending, rows);
+                }
+                pending.forEach((field, by) ->
+                        rows.add(Row.notFound(type.getSimpleName() + "." + field, by)));
+            }
+        } finally {
+            driver.quit();
+        }
+
+        String report = report(rows);
+        System.out.println(report);
+        Files.writeString(PAGES_DIR.resolveSibling("locator-report.txt"), report);
+        Allure.addAttachment("Рейтинг локаторов page object'ов", "text/plain", report);
+    }
+
+    // Найденные на странице локаторы удаляются из pending, остальные проверяются на следующей странице
+    @SuppressWarnings("unchecked")
+    private void analyze(WebDriver driver, Class<?> type, String page, Map<String, By> pending, List<Row> rows) {
+        List<Map<String, Object>> specs = new ArrayList<>();
+        Map<String, By> driverOnly = new LinkedHashMap<>();
+        pending.forEach((field, by) -> {
+            if (by instanceof By.Remotable) {
+                specs.add(BrowserLocators.spec(driver, field, by));
+            } else {
+                driverOnly.put(field, by);
+            }
+        });
+        // ByIdOrName, ByChained, ByAll, ByShadowPath не выражаются одним запросом в браузере: меряем только через WebDriver
+        driverOnly.forEach((field, by) -> {
+            if (!driver.findElements(by).isEmpty()) {
+                pending.remove(field);
+                rows.add(Row.driverOnly(type.getSimpleName() + "." + field, by, page, driverMillis(driver, by)));
+            }
+        });
+        Map<String, Object> timings = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeScript(SCRIPT, specs, BROWSER_ITERATIONS);
+
+        for (Map<String, Object> spec : specs) {
+            String field = (String) spec.get("name");
+            Map<String, Object> timing = (Map<String, Object>) timings.get(field);
+            if (!Boolean.TRUE.equals(timing.get("found"))) {
+                continue;
+            }
+            By by = pending.remove(field);
+            List<Map<String, Object>> candidates = (List<Map<String, Object>>) timing.get("candidates");
+            Map<String, Object> best = candidates.isEmpty() ? new HashMap<>() : candidates.get(0);
+            rows.add(new Row(type.getSimpleName() + "." + field, by, page,
+                    ((Number) timing.get("micros")).doubleValue(), driverMillis(driver, by),
+                    (String) best.get("annotation"),
+                    best.isEmpty() ? 0 : ((Number) best.get("micros")).doubleValue()));
+        }
+    }
+
+    private static double driverMillis(WebDriver driver, By by) {
+        long[] driverMicros = new long[DRIVER_ITERATIONS];
+        for (int i = 0; i < DRIVER_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            driver.findElement(by);
+            driverMicros[i] = (System.nanoTime() - start) / 1_000;
+        }
+        return Timings.median(driverMicros) / 1000.0;
+    }
+
+    private String report(List<Row> rows) {
+        List<Row> driverOnly = rows.stream().filter(row -> row.page != null && !row.browserMeasured)
+                .sorted(Comparator.comparingDouble((Row row) -> row.driverMillis).reversed())
+                .collect(Collectors.toList());
+        rows.removeAll(driverOnly);
+        rows.sort(Comparator.comparingDouble((Row row) -> row.browserMicros).reversed());
+        StringBuilder report = new StringBuilder(String.format(
+                "Повторов в браузере: %d, через WebDriver: %d, замена предлагается от x%.1f%n%n",
+                BROWSER_ITERATIONS, DRIVER_ITERATIONS, MIN_SPEEDUP));
+        report.append(String.format("%-3s %-36s %10s %12s  %s%n", "#", "Поле", "мкс/поиск", "WebDriver мс", "Локатор"));
+        int rank = 1;
+        for (Row row : rows) {
+            if (row.page == null) {
+                report.append(String.format("%-3s %-36s %10s %12s  %s — не найден на локальных страницах%n",
+                        "-", row.field, "-", "-", row.by));
+                continue;
+            }
+            report.append(String.format("%-3d %-36s %10.2f %12.2f  %s (%s)%n",
+                    rank++, row.field, row.browserMicros, row.driverMillis, row.by, row.page));
+            if (row.suggestion != null && row.suggestionMicros > 0
+                    && row.browserMicros / row.suggestionMicros >= MIN_SPEEDUP) {
+                report.append(String.format("    замена: @FindBy(%s) — %.2f мкс, быстрее в %.1f раза%n",
+                        row.suggestion, row.suggestionMicros, row.browserMicros / row.suggestionMicros));
+            }
+        }
+        if (!driverOnly.isEmpty()) {
+            report.append(String.format("%nНе измеряются в браузере, только через WebDriver:%n"));
+            for (Row row : driverOnly) {
+                report.append(String.format("%-3s %-36s %10s %12.2f  %s (%s)%n",
+                        "-", row.field, "-", row.driverMillis, row.by, row.page));
+            }
+        }
+        return report.toString();
+    }
+
+    private static final class Row {
+
+        private final String field;
+        private final By by;
+        private final String page;
+        private final double browserMicros;
+        private final double driverMillis;
+        private final String suggestion;
+        private final double suggestionMicros;
+        private final boolean browserMeasured;
+
+        private Row(String field, By by, String page, double browserMicros, double driverMillis,
+                    String suggestion, double suggestionMicros) {
+            this(field, by, page, browserMicros, driverMillis, suggestion, suggestionMicros, true);
+        }
+
+        private Row(String field, By by, String page, double browserMicros, double driverMillis,
+                    String suggestion, double suggestionMicros, boolean browserMeasured) {
+            this.field = field;
+            this.by = by;
+            this.page = page;
+            this.browserMicros = browserMicros;
+            this.driverMillis = driverMillis;
+            this.suggestion = suggestion;
+            this.suggestionMicros = suggestionMicros;
+            this.browserMeasured = browserMeasured;
+        }
+
+        private static Row driverOnly(String field, By by, String page, double driverMillis) {
+            return new Row(field, by, page, -1, driverMillis, null, 0, false);
+        }
+
+        private static Row notFound(String field, By by) {
+            return new Row(field, by, null, -1, -1, null, 0);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.benchmark;
+
+import com.example.binding.PageBinding;
+import com.example.components.Footer;
+import com.example.components.Header;
+import com.example.pages.LoginPage;
+import com.example.pages.WebFormPage;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.PageFactory;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+@Tag("benchmark")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PageBindingBenchmark {
+
+    private WebDriver driver;
+    private LoginPage loginPage;
+    private WebFormPage webFormPage;
+    private Header header;
+    private Footer footer;
+
+    @Setup
+    public void setup() {
+        // Привязка элементов ленивая и к браузеру не обращается, поэтому хватает заглушки
+        driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebDriver.class},
+                (proxy, method, args) -> {
+                    // hashCode/equals нужны DomGeneration, который ключует поколения DOM по драйверу
+                    switch (method.getName()) {
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "StubWebDriver";
+                        default:
+                            throw new UnsupportedOperationException(
+                                    "Заглушка драйвера для бенчмарка: " + method.getName());
+                    }
+                });
+        loginPage = new LoginPage(driver);
+        webFormPage = new WebFormPage(driver);
+        header = new Header(driver);
+        footer = new Footer(driver);
+    }
+
+    // Страница + Header + Footer: столько initElements выполнял конструктор BasePage на каждую страницу
+    @Benchmark
+    public Object pageFactoryLoginPage() {
+        PageFactory.initElements(driver, loginPage);
+        PageFactory.initElements(driver, header);
+        PageFactory.initElements(driver, footer);
+        return loginPage;
+    }
+
+    @Benchmark
+    public Object generatedLoginPage() {
+        PageBinding.bind(loginPage, driver);
+        PageBinding.bind(header, driver);
+        PageBinding.bind(footer, driver);
+        return loginPage;
+    }
+
+    @Benchmark
+    public Object pageFactoryWebFormPage() {
+        PageFactory.initElements(driver, webFormPage);
+        PageFactory.initElements(driver, header);
+        PageFactory.initElements(driver, footer);
+        return webFormPage;
+    }
+
+    @Benchmark
+    public Object generatedWebFormPage() {
+        PageBinding.bind(webFormPage, driver);
+        PageBinding.bind(header, driver);
+        PageBinding.bind(footer, driver);
+        return webFormPage;
+    }
+
+    // Полный конструктор страницы: Header и Footer создаются лениво и в стоимость не входят
+    @Benchmark
+    public Object constructLoginPage() {
+        return new LoginPage(driver);
+    }
+
+    @Test
+    public void comparePageFactoryAndGeneratedBinding() throws RunnerException {
+        // forks=0 по умолчанию: surefire запускает JVM через manifest-jar, и форк JMH не видит classpath
+        Options options = new OptionsBuilder()
+                .include(PageBindingBenchmark.class.getName() + ".*")
+                .forks(Integer.getInteger("benchmark.jmh.forks", 0))
+                .warmupIterations(Integer.getInteger("benchmark.jmh.warmups", 3))
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(Integer.getInteger("benchmark.iterations", 5))
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        StringBuilder report = new StringBuilder();
+        for (RunResult result : results) {
+            report.append(String.format("%-30s %10.1f ns/op%n",
+                    result.getParams().getBenchmark().replace(PageBindingBenchmark.class.getName() + ".", ""),
+                    result.getPrimaryResult().getScore()));
+        }
+        System.out.println(report);
+        Allure.addAttachment("PageFactory и сгенерированные binder'ы", "text/plain", report.toString());
+    }
+}
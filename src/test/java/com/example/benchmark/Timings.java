@@ -0,0 +1,30 @@
+package com.example.benchmark;
+
+import java.util.Arrays;
+
+public class Timings {
+
+    private Timings() {
+    }
+
+    public static double average(long[] values) {
+        return Arrays.stream(values).average().orElse(0);
+    }
+
+    public static long max(long[] values) {
+        return Arrays.stream(values).max().orElse(0);
+    }
+
+    public static long median(long[] values) {
+        if (values.length == 0) {
+            return 0;
+        }
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    public static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.benchmark;
+
+import com.example.config.DriverConfig;
+import com.example.driver.BrowserProfile;
+import com.example.driver.DriverFactory;
+import com.example.driver.WarmProfileTemplate;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("benchmark")
+public class WarmProfileBenchmark {
+
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 5);
+
+    @Test
+    public void compareColdAndWarmPageLoads() throws IOException {
+        WarmProfileTemplate template = WarmProfileTemplate.getInstance();
+        List<String> urls = DriverConfig.getWarmProfileUrls();
+
+        StringBuilder report = new StringBuilder(String.format("Итераций: %d%n", ITERATIONS));
+        long coldTotal = 0;
+        long warmTotal = 0;
+        for (String url : urls) {
+            long[] cold = new long[ITERATIONS];
+            long[] warm = new long[ITERATIONS];
+            for (int i = 0; i < ITERATIONS; i++) {
+                Path empty = Files.createTempDirectory("cold-profile");
+                cold[i] = measurePageLoad(template, empty, url);
+
+                Optional<Path> clone = template.cloneForSession();
+                assertTrue(clone.isPresent(), "Шаблон профиля не собран, сравнивать не с чем");
+                warm[i] = measurePageLoad(template, clone.get(), url);
+            }
+            coldTotal += Timings.median(cold);
+            warmTotal += Timings.median(warm);
+            report.append(String.format("%-60s cold median %d ms, warm median %d ms%n",
+                    url, Timings.median(cold), Timings.median(warm)));
+        }
+        report.append(String.format("Сумма медиан: cold %d ms, warm %d ms, экономия %.0f%%%n",
+                coldTotal, warmTotal, coldTotal == 0 ? 0.0 : (coldTotal - warmTotal) * 100.0 / coldTotal));
+        report.append(template.getStats());
+
+        System.out.println(report);
+        Allure.addAttachment("Прогретый профиль браузера", "text/plain", report.toString());
+    }
+
+    private long measurePageLoad(WarmProfileTemplate template, Path userDataDir, String url) {
+        ChromeOptions options = template.withUserDataDir(
+                BrowserProfile.FAST_HEADLESS.chromeOptions(DriverConfig.getDownloadDir()), userDataDir);
+        WebDriver driver = DriverFactory.createDriver(DriverFactory.BrowserType.CHROME, options);
+        try {
+            driver.get(url);
+            // Время загрузки по Navigation Timing самой страницы, без старта браузера
+            Object duration = ((JavascriptExecutor) driver).executeScript(
+                    "return performance.getEntriesByType('navigation')[0].duration");
+            return Math.round(((Number) duration).doubleValue());
+        } finally {
+            driver.quit();
+            template.delete(userDataDir);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.binding;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Передача локаторов страницы в браузерный скрипт, чтобы искать все элементы за один executeScript
+public final class BrowserLocators {
+
+    private static final String FIND_FUNCTION = load("/scripts/find-element.js");
+
+    private BrowserLocators() {
+    }
+
+    // Текст скрипта из ресурсов с подключённой функцией find(spec)
+    public static String script(String resource) {
+        return FIND_FUNCTION + load(resource);
+    }
+
+    public static Map<String, Object> spec(SearchContext context, String name, By by) {
+        Map<String, Object> spec = new HashMap<>();
+        spec.put("name", name);
+        if (by instanceof By.Remotable) {
+            By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+            spec.put("using", parameters.using());
+            spec.put("value", parameters.value());
+        } else {
+            // ByIdOrName, ByChained, ByAll не выражаются одним запросом в браузере: ищем элемент сами
+            List<WebElement> found = context.findElements(by);
+            spec.put("element", found.isEmpty() ? null : found.get(0));
+        }
+        return spec;
+    }
+
+    private static String load(String resource) {
+        try (InputStream in = BrowserLocators.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Скрипт не найден: " + resource);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.binding;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+// Локатор для @ShadowPath: хосты проходятся через getShadowRoot, теневые корни берутся из ShadowLocator
+public class ByShadowPath extends By {
+
+    private final List<String> path;
+
+    public ByShadowPath(String... selectors) {
+        if (selectors.length < 2) {
+            throw new IllegalArgumentException("В пути Shadow DOM нужны хотя бы хост и элемент внутри него");
+        }
+        this.path = List.of(selectors);
+    }
+
+    @Override
+    public List<WebElement> findElements(SearchContext context) {
+        return ShadowLocator.of(context).findAll(path);
+    }
+
+    @Override
+    public String toString() {
+        return "By.shadowPath: " + String.join(" >>> ", path);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.binding;
+
+import org.openqa.selenium.SearchContext;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Поколение DOM драйвера: растёт при навигации, и закешированные элементы всех страниц этого драйвера устаревают
+public final class DomGeneration {
+
+    private static final Map<SearchContext, DomGeneration> GENERATIONS =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final AtomicLong value = new AtomicLong();
+
+    private DomGeneration() {
+    }
+
+    public static DomGeneration of(SearchContext context) {
+        return GENERATIONS.computeIfAbsent(context, key -> new DomGeneration());
+    }
+
+    public static void advance(SearchContext context) {
+        of(context).value.incrementAndGet();
+    }
+
+    long current() {
+        return value.get();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.binding;
+
+import com.example.config.DriverConfig;
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+// Кеш найденных элементов одного экземпляра страницы. Элемент ищется один раз и переиспользуется,
+// пока не сменилось поколение DOM драйвера; устаревший элемент ищется заново (см. LocatingElement)
+public final class ElementCache {
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder STALE_RETRIES = new LongAdder();
+    private static final LongAdder INVALIDATIONS = new LongAdder();
+
+    private final SearchContext context;
+    private final DomGeneration generation;
+    private final boolean enabled;
+
+    public ElementCache(SearchContext context) {
+        this.context = context;
+        this.generation = DomGeneration.of(context);
+        this.enabled = DriverConfig.isElementCacheEnabled();
+    }
+
+    public WebElement element(By by, boolean cacheLookup) {
+        return new LocatingElement(new CachingLocator(by, enabled || cacheLookup));
+    }
+
+    // Закешированный список не сверяется с поколением DOM, поэтому с выключенным кешем @CacheLookup не действует
+    public List<WebElement> list(By by, boolean cacheLookup) {
+        return new LocatingElementList(context, by, enabled && cacheLookup);
+    }
+
+    public static ElementCacheStats getStats() {
+        return ElementCacheStats.builder()
+                .hits(HITS.sum())
+                .misses(MISSES.sum())
+                .staleRetries(STALE_RETRIES.sum())
+                .invalidations(INVALIDATIONS.sum())
+                .build();
+    }
+
+    final class CachingLocator implements ElementLocator {
+
+        private final By by;
+        private final boolean cached;
+        private WebElement element;
+        private long elementGeneration;
+
+        private CachingLocator(By by, boolean cached) {
+            this.by = by;
+            this.cached = cached;
+        }
+
+        @Override
+        public WebElement findElement() {
+            long current = generation.current();
+            if (element != null) {
+                if (elementGeneration == current) {
+                    HITS.increment();
+                    return element;
+                }
+                INVALIDATIONS.increment();
+            }
+            MISSES.increment();
+            WebElement found = context.findElement(by);
+            if (cached) {
+                element = found;
+                elementGeneration = current;
+            }
+            return found;
+        }
+
+        @Override
+        public List<WebElement> findElements() {
+            return context.findElements(by);
+        }
+
+        // Вызывается при StaleElementReferenceException перед повторной попыткой
+        void invalidate() {
+            element = null;
+            STALE_RETRIES.increment();
+        }
+
+        @Override
+        public String toString() {
+            return by.toString();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.binding;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class ElementCacheStats {
+
+    long hits;
+    long misses;
+    long staleRetries;
+    long invalidations;
+
+    public double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d, misses=%d (hit ratio %.0f%%), stale retries=%d, invalidations=%d",
+                hits, misses, getHitRatio() * 100, staleRetries, invalidations);
+    }
+}
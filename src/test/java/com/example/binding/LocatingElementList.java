@@ -0,0 +1,103 @@
+package com.example.binding;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Spliterator;
+
+// Ленивый список элементов: как у PageFactory, каждое обращение к списку выполняет findElements заново
+public class LocatingElementList extends AbstractList<WebElement> {
+
+    private final SearchContext context;
+    private final By by;
+    private final boolean cacheLookup;
+    private List<WebElement> cached;
+
+    public LocatingElementList(SearchContext context, By by, boolean cacheLookup) {
+        this.context = context;
+        this.by = by;
+        this.cacheLookup = cacheLookup;
+    }
+
+    private List<WebElement> elements() {
+        if (cached != null) {
+            return cached;
+        }
+        List<WebElement> elements = context.findElements(by);
+        if (cacheLookup) {
+            cached = elements;
+        }
+        return elements;
+    }
+
+    @Override
+    public WebElement get(int index) {
+        return elements().get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements().size();
+    }
+
+    // Одна операция над списком — один findElements, а не поиск на каждый get()
+    @Override
+    public Iterator<WebElement> iterator() {
+        return elements().iterator();
+    }
+
+    @Override
+    public ListIterator<WebElement> listIterator(int index) {
+        return elements().listIterator(index);
+    }
+
+    @Override
+    public Spliterator<WebElement> spliterator() {
+        return elements().spliterator();
+    }
+
+    @Override
+    public List<WebElement> subList(int fromIndex, int toIndex) {
+        return elements().subList(fromIndex, toIndex);
+    }
+
+    @Override
+    public Object[] toArray() {
+        return elements().toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(T[] array) {
+        return elements().toArray(array);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return elements().isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        return elements().contains(element);
+    }
+
+    @Override
+    public int indexOf(Object element) {
+        return elements().indexOf(element);
+    }
+
+    @Override
+    public int lastIndexOf(Object element) {
+        return elements().lastIndexOf(element);
+    }
+
+    @Override
+    public String toString() {
+        return "Lazy element list for: " + by;
+    }
+}
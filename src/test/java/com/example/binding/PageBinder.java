@@ -0,0 +1,12 @@
+package com.example.binding;
+
+import org.openqa.selenium.By;
+
+import java.util.Map;
+
+public interface PageBinder<T> {
+
+    void bind(T page, ElementCache elements);
+
+    void collectLocators(Map<String, By> locators);
+}
@@ -0,0 +1,118 @@
+package com.example.binding;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class PageBinding {
+
+    private static final String BINDER_SUFFIX = "_PageBinder";
+    private static final Map<Class<?>, Optional<PageBinder<?>>> BINDERS = new ConcurrentHashMap<>();
+
+    private PageBinding() {
+    }
+
+    // Замена PageFactory.initElements: binder'ы сгенерированы PageBindingProcessor при компиляции.
+    // Кеш элементов свой у каждого экземпляра страницы
+    public static <T> T bind(T page, SearchContext context) {
+        PageBinder<Object> binder = binderFor(page.getClass());
+        if (binder != null) {
+            binder.bind(page, new ElementCache(context));
+        }
+        return page;
+    }
+
+    // Локаторы одиночных элементов страницы в порядке объявления полей, ключ — имя поля
+    public static Map<String, By> locators(Class<?> pageType) {
+        Map<String, By> locators = new LinkedHashMap<>();
+        PageBinder<Object> binder = binderFor(pageType);
+        if (binder != null) {
+            binder.collectLocators(locators);
+        }
+        return locators;
+    }
+
+    // Классы страниц и компонентов, для которых сгенерированы binder'ы в последней полной компиляции
+    public static Set<Class<?>> boundTypes() {
+        return GeneratedPageBinders.types();
+    }
+
+    // Binder сам вызывает binder'ы родительских классов, поэтому берём ближайший. Класс с полями-локаторами,
+    // но без binder'а — ошибка сборки (например, инкрементальная компиляция в IDE без обработки аннотаций):
+    // молча оставить поля null значит получить NPE где-то в середине теста
+    @SuppressWarnings("unchecked")
+    private static PageBinder<Object> binderFor(Class<?> pageType) {
+        for (Class<?> type = pageType; type != null && type != Object.class; type = type.getSuperclass()) {
+            Optional<PageBinder<?>> binder = BINDERS.computeIfAbsent(type, PageBinding::loadBinder);
+            if (binder.isPresent()) {
+                return (PageBinder<Object>) binder.get();
+            }
+            if (declaresLocatorFields(type)) {
+                throw new IllegalStateException("Для " + type.getName() + " не сгенерирован " + binderName(type)
+                        + ": пересоберите тесты с обработкой аннотаций (mvn clean test-compile)");
+            }
+            String unannotated = unannotatedElementField(type);
+            if (unannotated != null) {
+                throw new IllegalStateException("Поле " + type.getName() + "." + unannotated
+                        + " без @FindBy: PageFactory искал бы его по id или name, но процессор не видит классы"
+                        + " без аннотаций локаторов. Укажите @FindBy(id = ...) или @FindBy(name = ...)");
+            }
+        }
+        return null;
+    }
+
+    // Binder ищется по имени <Класс>_PageBinder в пакете страницы, а не в общем реестре: реестр содержит
+    // только классы последнего раунда компиляции
+    private static Optional<PageBinder<?>> loadBinder(Class<?> type) {
+        try {
+            Class<?> binder = Class.forName(binderName(type), true, type.getClassLoader());
+            return Optional.of((PageBinder<?>) binder.getDeclaredConstructor().newInstance());
+        } catch (ClassNotFoundException e) {
+            return Optional.empty();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Не удалось создать " + binderName(type), e);
+        }
+    }
+
+    private static String binderName(Class<?> type) {
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+        for (Class<?> outer = type.getEnclosingClass(); outer != null; outer = outer.getEnclosingClass()) {
+            name.insert(0, outer.getSimpleName() + "_");
+        }
+        return type.getPackageName() + "." + name + BINDER_SUFFIX;
+    }
+
+    // Процессор запускается только аннотациями, поэтому в классе совсем без них поле WebElement, которое
+    // PageFactory привязал бы по id или name, осталось бы null
+    private static String unannotatedElementField(Class<?> type) {
+        for (Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && field.getType() == WebElement.class) {
+                return field.getName();
+            }
+        }
+        return null;
+    }
+
+    // PageBindingProcessor берёт в обработку классы, у которых есть поля с этими аннотациями
+    private static boolean declaresLocatorFields(Class<?> type) {
+        for (Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && (field.isAnnotationPresent(FindBy.class)
+                    || field.isAnnotationPresent(FindBys.class) || field.isAnnotationPresent(FindAll.class)
+                    || field.isAnnotationPresent(ShadowPath.class))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.binding;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.DetachedShadowRootException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Поиск в Shadow DOM через WebElement.getShadowRoot вместо обхода теневого дерева скриптом.
+// Теневые корни хостов запрашиваются у драйвера один раз и переиспользуются, пока не сменилось
+// поколение DOM (см. DomGeneration), так что поиск внутри корня стоит столько же, сколько в обычном DOM
+public final class ShadowLocator {
+
+    // Значение не должно ссылаться на ключ, иначе запись WeakHashMap не соберётся никогда:
+    // PageManager оборачивает драйвер в новый EventFiringDecorator на каждый тест
+    private static final Map<SearchContext, ShadowRoots> ROOTS =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder STALE_RETRIES = new LongAdder();
+
+    private final SearchContext context;
+    private final ShadowRoots roots;
+
+    private ShadowLocator(SearchContext context, ShadowRoots roots) {
+        this.context = context;
+        this.roots = roots;
+    }
+
+    public static ShadowLocator of(SearchContext context) {
+        return new ShadowLocator(context,
+                ROOTS.computeIfAbsent(context, key -> new ShadowRoots(DomGeneration.of(key))));
+    }
+
+    public WebElement find(String... path) {
+        List<WebElement> found = findAll(Arrays.asList(path));
+        if (found.isEmpty()) {
+            throw new NoSuchElementException("Элемент не найден в Shadow DOM: " + String.join(" >>> ", path));
+        }
+        return found.get(0);
+    }
+
+    public List<WebElement> findAll(List<String> path) {
+        try {
+            return lookup(path);
+        } catch (StaleElementReferenceException | DetachedShadowRootException e) {
+            // Хост перерисовали без навигации: забываем корни и ищем заново один раз
+            STALE_RETRIES.increment();
+            roots.clear();
+            return lookup(path);
+        }
+    }
+
+    // Теневой корень уже найденного хоста
+    public SearchContext shadowRoot(WebElement host) {
+        return roots.ofHost(host);
+    }
+
+    public static ShadowRootStats getStats() {
+        return ShadowRootStats.builder()
+                .hits(HITS.sum())
+                .misses(MISSES.sum())
+                .staleRetries(STALE_RETRIES.sum())
+                .build();
+    }
+
+    private List<WebElement> lookup(List<String> path) {
+        SearchContext root = roots.ofPath(context, path.subList(0, path.size() - 1));
+        return root.findElements(By.cssSelector(path.get(path.size() - 1)));
+    }
+
+    private static final class ShadowRoots {
+
+        private final DomGeneration generation;
+        // Корни по пути хостов от контекста: ключ — селекторы хостов через " >>> "
+        private final Map<String, SearchContext> byPath = new HashMap<>();
+        private final Map<WebElement, SearchContext> byHost = new HashMap<>();
+        private long rootsGeneration;
+
+        private ShadowRoots(DomGeneration generation) {
+            this.generation = generation;
+            this.rootsGeneration = generation.current();
+        }
+
+        private synchronized SearchContext ofPath(SearchContext context, List<String> hosts) {
+            syncGeneration();
+            SearchContext current = context;
+            for (int i = 0; i < hosts.size(); i++) {
+                String key = String.join(" >>> ", hosts.subList(0, i + 1));
+                SearchContext root = byPath.get(key);
+                if (root != null) {
+                    HITS.increment();
+                } else {
+                    MISSES.increment();
+                    root = current.findElement(By.cssSelector(hosts.get(i))).getShadowRoot();
+                    byPath.put(key, root);
+                }
+                current = root;
+            }
+            return current;
+        }
+
+        private synchronized SearchContext ofHost(WebElement host) {
+            syncGeneration();
+            SearchContext root = byHost.get(host);
+            if (root != null) {
+                HITS.increment();
+                return root;
+            }
+            MISSES.increment();
+            root = host.getShadowRoot();
+            byHost.put(host, root);
+            return root;
+        }
+
+        private void syncGeneration() {
+            long current = generation.current();
+            if (current != rootsGeneration) {
+                clear();
+                rootsGeneration = current;
+            }
+        }
+
+        private synchronized void clear() {
+            byPath.clear();
+            byHost.clear();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.binding;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class ShadowRootStats {
+
+    long hits;
+    long misses;
+    long staleRetries;
+
+    @Override
+    public String toString() {
+        return String.format("корней из кеша=%d, запрошено у драйвера=%d, stale retries=%d",
+                hits, misses, staleRetries);
+    }
+}
@@ -1,22 +1,22 @@
 package com.example.components;
 
+import com.example.binding.PageBinding;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 
 public class Footer {
     private WebDriver driver;
 
     @FindBy(className = "footer")
-    private WebElement footerElement;
+    WebElement footerElement;
 
     @FindBy(xpath = "//footer//p")
-    private WebElement copyrightText;
+    WebElement copyrightText;
 
     public Footer(WebDriver driver) {
         this.driver = driver;
-        PageFactory.initElements(driver, this);
+        PageBinding.bind(this, driver);
     }
 
     public boolean isDisplayed() {
@@ -1,22 +1,22 @@
 package com.example.components;
 
+import com.example.binding.PageBinding;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 
 public class Header {
     private WebDriver driver;
 
     @FindBy(xpath = "//nav[@class='navbar']")
-    private WebElement navbar;
+    WebElement navbar;
 
     @FindBy(xpath = "//a[contains(text(), 'Home')]")
-    private WebElement homeLink;
+    WebElement homeLink;
 
     public Header(WebDriver driver) {
         this.driver = driver;
-        PageFactory.initElements(driver, this);
+        PageBinding.bind(this, driver);
     }
 
     public boolean isDisplayed() {
@@ -0,0 +1,28 @@
+package com.example.components;
+
+import java.util.function.Supplier;
+
+// Компонент страницы, который создаётся при первом обращении и дальше переиспользуется.
+// Страница живёт в одном потоке вместе со своим драйвером, поэтому синхронизация не нужна
+public final class LazyComponent<T> implements Supplier<T> {
+
+    private Supplier<T> factory;
+    private T instance;
+
+    public LazyComponent(Supplier<T> factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public T get() {
+        if (factory != null) {
+            instance = factory.get();
+            factory = null;
+        }
+        return instance;
+    }
+
+    public boolean isMaterialized() {
+        return factory == null;
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.config;
+
+import com.example.driver.BrowserProfile;
+import com.example.driver.DriverFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class DriverConfig {
+
+    private DriverConfig() {
+    }
+
+    public static int getPoolSize() {
+        return Integer.getInteger("driver.pool.size",
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    public static int getPoolSize(DriverFactory.BrowserType browserType) {
+        return Integer.getInteger("driver.pool." + browserType.name().toLowerCase() + ".size", getPoolSize());
+    }
+
+    public static DriverFactory.BrowserType getBrowser() {
+        return DriverFactory.BrowserType.valueOf(
+                System.getProperty("driver.browser", "CHROME").toUpperCase());
+    }
+
+    public static List<DriverFactory.BrowserType> getMatrixBrowsers() {
+        return parseBrowsers(System.getProperty("driver.matrix.browsers", "CHROME,FIREFOX"));
+    }
+
+    public static int getMatrixThreads() {
+        return Integer.getInteger("driver.matrix.threads",
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    public static int getMaxUsesPerSession() {
+        return Integer.getInteger("driver.pool.maxUses", 20);
+    }
+
+    public static long getBorrowTimeoutMillis() {
+        return Long.getLong("driver.pool.borrowTimeout", 60000);
+    }
+
+    public static String getDriverManifestPath() {
+        return System.getProperty("driver.manifest",
+                System.getProperty("user.home") + "/.cache/selenium/driver-manifest.properties");
+    }
+
+    public static boolean isDriverResolutionOffline() {
+        return Boolean.getBoolean("driver.offline");
+    }
+
+    public static String getBrowserBinary(String browser) {
+        return System.getProperty("driver." + browser + ".binary");
+    }
+
+    public static long getProbeTimeoutMillis() {
+        return Long.getLong("driver.watchdog.probeTimeout", 2000);
+    }
+
+    public static long getProbeIntervalMillis() {
+        return Long.getLong("driver.watchdog.interval", 10000);
+    }
+
+    public static int getProbeFailureThreshold() {
+        return Integer.getInteger("driver.watchdog.failures", 3);
+    }
+
+    // Дольше всего сессию законно занимают загрузка страницы (300 с по спецификации WebDriver) и ожидание DomWait
+    public static long getProbeHungAfterMillis() {
+        return Long.getLong("driver.watchdog.hungAfter", Math.max(300_000, getWaitBudgetMillis() + 2000));
+    }
+
+    public static DriverFactory.IsolationMode getIsolationMode() {
+        return DriverFactory.IsolationMode.valueOf(
+                System.getProperty("driver.isolation", "PROCESS").toUpperCase());
+    }
+
+    public static int getPrefetchAhead() {
+        return Integer.getInteger("driver.prefetch.ahead", 2);
+    }
+
+    public static BrowserProfile getBrowserProfile() {
+        return BrowserProfile.valueOf(
+                System.getProperty("driver.profile", "DEBUG_HEADED").toUpperCase());
+    }
+
+    public static boolean isImageLoadingEnabled() {
+        return Boolean.parseBoolean(System.getProperty("driver.images", "true"));
+    }
+
+    public static String getDownloadDir() {
+        return System.getProperty("driver.download.dir",
+                System.getProperty("user.dir") + "/target/downloads");
+    }
+
+    public static boolean isAdmissionControlEnabled() {
+        return Boolean.parseBoolean(System.getProperty("driver.admission.enabled", "true"));
+    }
+
+    public static long getAdmissionBrowserMemoryMb() {
+        return Long.getLong("driver.admission.browserMemoryMb", 400);
+    }
+
+    public static long getAdmissionReserveMemoryMb() {
+        return Long.getLong("driver.admission.reserveMemoryMb", 1024);
+    }
+
+    public static int getAdmissionMaxBrowsers() {
+        return Integer.getInteger("driver.admission.maxBrowsers", 0);
+    }
+
+    public static long getAdmissionSampleIntervalMillis() {
+        return Long.getLong("driver.admission.sampleIntervalMs", 5000);
+    }
+
+    public static boolean isProcessReaperEnabled() {
+        return Boolean.parseBoolean(System.getProperty("driver.reaper.enabled", "true"));
+    }
+
+    public static String getReaperDir() {
+        return System.getProperty("driver.reaper.dir",
+                System.getProperty("java.io.tmpdir") + "/selenium-driver-pids");
+    }
+
+    public static boolean isWarmProfileEnabled() {
+        return Boolean.parseBoolean(System.getProperty("driver.warmProfile", "false"));
+    }
+
+    public static String getWarmProfileDir() {
+        return System.getProperty("driver.warmProfile.dir",
+                System.getProperty("user.dir") + "/target/warm-profile");
+    }
+
+    public static List<String> getWarmProfileUrls() {
+        String base = "https://bonigarcia.dev/selenium-webdriver-java/";
+        return Arrays.stream(System.getProperty("driver.warmProfile.urls",
+                        base + "login-form.html," + base + "web-form.html," + base + "download.html,"
+                                + base + "navigation1.html").split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    public static DriverFactory.DriverMode getDriverMode() {
+        return DriverFactory.DriverMode.valueOf(
+                System.getProperty("driver.mode", "LOCAL").toUpperCase());
+    }
+
+    public static String getGridUrl() {
+        return System.getProperty("driver.grid.url");
+    }
+
+    public static int getGridNodes() {
+        return Integer.getInteger("driver.grid.nodes", 2);
+    }
+
+    public static int getGridMaxSessionsPerNode() {
+        int nodes = Math.max(1, getGridNodes());
+        return Integer.getInteger("driver.grid.maxSessions",
+                Math.max(1, Runtime.getRuntime().availableProcessors() / nodes));
+    }
+
+    public static List<DriverFactory.BrowserType> getGridBrowsers() {
+        return parseBrowsers(System.getProperty("driver.grid.browsers", "CHROME"));
+    }
+
+    public static String getGridLogDir() {
+        return System.getProperty("driver.grid.logDir",
+                System.getProperty("user.dir") + "/target/grid");
+    }
+
+    public static boolean isElementCacheEnabled() {
+        return Boolean.parseBoolean(System.getProperty("driver.elementCache", "true"));
+    }
+
+    public static long getWaitBudgetMillis() {
+        return Long.getLong("driver.wait.budgetMs", 10000);
+    }
+
+    public static long getNetworkIdleMillis() {
+        return Long.getLong("driver.readiness.networkIdleMs", 500);
+    }
+
+    private static List<DriverFactory.BrowserType> parseBrowsers(String names) {
+        return Arrays.stream(names.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .map(name -> DriverFactory.BrowserType.valueOf(name.toUpperCase()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.download;
+
+import org.openqa.selenium.TimeoutException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+// Ожидание загрузок по событиям файловой системы вместо опроса Files.exists со sleep.
+// Chrome пишет файл в <имя>.crdownload и переименовывает его, когда загрузка завершена:
+// файл считается загруженным, когда он есть, не пустой и рядом нет .crdownload
+public class DownloadMonitor implements AutoCloseable {
+
+    private static final String PARTIAL_SUFFIX = ".crdownload";
+    // WatchService на macOS опрашивает папку раз в ~10 с: между событиями перепроверяем ожидаемые файлы сами
+    private static final long RECHECK_MILLIS = 250;
+
+    private final Path directory;
+    private final WatchService watchService;
+    private final Map<String, CompletableFuture<Path>> pending = new ConcurrentHashMap<>();
+    private final Thread watcher;
+
+    public DownloadMonitor(Path directory) {
+        this.directory = directory.toAbsolutePath();
+        try {
+            Files.createDirectories(this.directory);
+            this.watchService = this.directory.getFileSystem().newWatchService();
+            this.directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось подписаться на папку загрузок " + directory, e);
+        }
+        this.watcher = new Thread(this::watch, "download-monitor-" + this.directory.getFileName());
+        this.watcher.setDaemon(true);
+        this.watcher.start();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    // Подписку лучше оформить до клика по ссылке; если файл уже загружен, future завершается сразу
+    public CompletableFuture<Path> expect(String fileName) {
+        CompletableFuture<Path> future = pending.computeIfAbsent(fileName, name -> new CompletableFuture<>());
+        check(fileName);
+        return future;
+    }
+
+    public Path await(String fileName, Duration timeout) {
+        return await(expect(fileName), fileName, timeout);
+    }
+
+    public Path await(CompletableFuture<Path> download, String fileName, Duration timeout) {
+        try {
+            return download.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (java.util.concurrent.TimeoutException e) {
+            pending.remove(fileName, download);
+            throw new TimeoutException("Файл " + fileName + " не загрузился за " + timeout.toMillis() + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Ожидание загрузки " + fileName + " прервано");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ожидание загрузки " + fileName + " завершилось ошибкой", e.getCause());
+        }
+    }
+
+    public boolean isDownloaded(String fileName, Duration timeout) {
+        try {
+            await(fileName, timeout);
+            return true;
+        } catch (TimeoutException | CancellationException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            // Сервис всё равно больше не используется
+        }
+        watcher.interrupt();
+        failPending(new CancellationException("Наблюдение за " + directory + " остановлено"));
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.poll(RECHECK_MILLIS, TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    pending.keySet().forEach(this::check);
+                    continue;
+                }
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW) {
+                        // События потеряны: перепроверяем все ожидаемые файлы
+                        pending.keySet().forEach(this::check);
+                        continue;
+                    }
+                    String name = ((Path) event.context()).getFileName().toString();
+                    check(name.endsWith(PARTIAL_SUFFIX)
+                            ? name.substring(0, name.length() - PARTIAL_SUFFIX.length())
+                            : name);
+                }
+                if (!key.reset()) {
+                    failPending(new IllegalStateException("Папка загрузок больше недоступна: " + directory));
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // close()
+        }
+    }
+
+    private void check(String fileName) {
+        CompletableFuture<Path> future = pending.get(fileName);
+        if (future == null) {
+            return;
+        }
+        Path file = directory.resolve(fileName);
+        if (isComplete(file) && pending.remove(fileName, future)) {
+            future.complete(file);
+        }
+    }
+
+    private static boolean isComplete(Path file) {
+        try {
+            return Files.isRegularFile(file)
+                    && !Files.exists(file.resolveSibling(file.getFileName() + PARTIAL_SUFFIX))
+                    && Files.size(file) > 0;
+        } catch (IOException e) {
+            // Файл переименовали или удалили между проверками: дождёмся следующего события
+            return false;
+        }
+    }
+
+    private void failPending(RuntimeException cause) {
+        pending.values().forEach(future -> future.completeExceptionally(cause));
+        pending.clear();
+    }
+}
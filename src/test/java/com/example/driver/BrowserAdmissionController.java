@@ -0,0 +1,196 @@
+package com.example.driver;
+
+import com.example.config.DriverConfig;
+
+import java.util.OptionalLong;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+public class BrowserAdmissionController {
+
+    private static final long MB = 1024L * 1024L;
+
+    private final ResizableSemaphore permits;
+    private final int maxLimit;
+    private final long reserveBytes;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong waits = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong shrinks = new AtomicLong();
+    private final AtomicLong reclaimed = new AtomicLong();
+    private final ScheduledExecutorService sampler;
+
+    private volatile int limit;
+    private volatile long browserBytesEstimate;
+    // Закрывает одну простаивающую сессию из пулов; разрешение вернётся, когда завершится её процесс
+    private volatile BooleanSupplier idleReclaimer = () -> false;
+
+    private static class Holder {
+        private static final BrowserAdmissionController INSTANCE = new BrowserAdmissionController(
+                DriverConfig.getAdmissionBrowserMemoryMb() * MB,
+                DriverConfig.getAdmissionReserveMemoryMb() * MB,
+                DriverConfig.getAdmissionMaxBrowsers(),
+                DriverConfig.getAdmissionSampleIntervalMillis());
+    }
+
+    public static BrowserAdmissionController getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    BrowserAdmissionController(long browserBytesEstimate, long reserveBytes, int configuredMax, long sampleIntervalMillis) {
+        this.browserBytesEstimate = browserBytesEstimate;
+        this.reserveBytes = reserveBytes;
+        this.maxLimit = configuredMax > 0 ? configuredMax : HostResources.cpuCount();
+        this.limit = initialLimit();
+        this.permits = new ResizableSemaphore(limit);
+
+        this.sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "browser-admission-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleWithFixedDelay(this::sample, sampleIntervalMillis, sampleIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void setIdleReclaimer(BooleanSupplier idleReclaimer) {
+        this.idleReclaimer = idleReclaimer;
+    }
+
+    public void acquire(long timeoutMillis) {
+        long start = System.nanoTime();
+        boolean acquired;
+        if (permits.tryAcquire()) {
+            acquired = true;
+        } else {
+            waits.incrementAndGet();
+            try {
+                acquired = awaitPermit(start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Ожидание разрешения на запуск браузера прервано", e);
+            } finally {
+                totalWaitNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+        if (!acquired) {
+            throw new IllegalStateException("Не дождались разрешения на запуск браузера за " + timeoutMillis
+                    + " мс: запущено " + active.get() + " из " + limit);
+        }
+        active.incrementAndGet();
+    }
+
+    // Без ожидания и без закрытия простаивающих сессий: так запускаются браузеры впрок. Очередь честная,
+    // поэтому разрешение не достанется раньше тех, кто его уже ждёт
+    public boolean tryAcquire() {
+        try {
+            if (!permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        active.incrementAndGet();
+        return true;
+    }
+
+    public void release() {
+        active.decrementAndGet();
+        permits.release();
+    }
+
+    public String getStats() {
+        return String.format("limit=%d (max %d), active=%d, waits=%d, wait total=%d ms, shrinks=%d, "
+                        + "idle sessions closed=%d, browser estimate=%s",
+                limit, maxLimit, active.get(), waits.get(), TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get()),
+                shrinks.get(), reclaimed.get(), ProcessMetrics.formatMegabytes(browserBytesEstimate));
+    }
+
+    // Простаивающие в пулах браузеры держат разрешения: пока ждём, закрываем их по одному за порцию ожидания
+    private boolean awaitPermit(long deadline) throws InterruptedException {
+        while (true) {
+            if (reclaimIdle()) {
+                reclaimed.incrementAndGet();
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            if (permits.tryAcquire(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(200)), TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+        }
+    }
+
+    private boolean reclaimIdle() {
+        try {
+            return idleReclaimer.getAsBoolean();
+        } catch (RuntimeException e) {
+            System.err.println("Не удалось закрыть простаивающий браузер: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private int initialLimit() {
+        OptionalLong available = HostResources.availableMemoryBytes();
+        if (available.isEmpty()) {
+            return maxLimit;
+        }
+        long byMemory = (available.getAsLong() - reserveBytes) / browserBytesEstimate;
+        return (int) Math.max(1, Math.min(maxLimit, byMemory));
+    }
+
+    private void sample() {
+        try {
+            int running = active.get();
+            if (running > 0 && ProcessMetrics.isSupported()) {
+                long perBrowser = ProcessMetrics.descendantsRssBytes() / running;
+                browserBytesEstimate = Math.max(browserBytesEstimate, perBrowser);
+            }
+
+            OptionalLong available = HostResources.availableMemoryBytes();
+            if (available.isEmpty()) {
+                return;
+            }
+            long free = available.getAsLong();
+            if (free < reserveBytes && limit > 1) {
+                resize(limit - 1);
+                shrinks.incrementAndGet();
+                // Уменьшение лимита само не останавливает браузеры: закрываем простаивающие сверх лимита
+                for (int excess = active.get() - limit; excess > 0 && reclaimIdle(); excess--) {
+                    reclaimed.incrementAndGet();
+                }
+            } else if (free > reserveBytes + 2 * browserBytesEstimate && limit < maxLimit) {
+                resize(limit + 1);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Ошибка при замере ресурсов для контроля браузеров: " + e.getMessage());
+        }
+    }
+
+    private synchronized void resize(int newLimit) {
+        int delta = newLimit - limit;
+        if (delta > 0) {
+            permits.release(delta);
+        } else if (delta < 0) {
+            permits.reduce(-delta);
+        }
+        limit = newLimit;
+    }
+
+    private static class ResizableSemaphore extends Semaphore {
+
+        private ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        private void reduce(int reduction) {
+            reducePermits(reduction);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.driver;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class BrowserContextIsolation {
+
+    private BrowserContextIsolation() {
+    }
+
+    public static boolean isSupported(WebDriver driver) {
+        return driver instanceof HasCdp;
+    }
+
+    public static String open(WebDriver driver) {
+        HasCdp cdp = (HasCdp) driver;
+        Set<String> handlesBefore = new HashSet<>(driver.getWindowHandles());
+
+        String contextId = (String) cdp.executeCdpCommand("Target.createBrowserContext",
+                Map.of("disposeOnDetach", true)).get("browserContextId");
+        cdp.executeCdpCommand("Target.createTarget",
+                Map.of("url", "about:blank", "browserContextId", contextId));
+
+        for (String handle : driver.getWindowHandles()) {
+            if (!handlesBefore.contains(handle)) {
+                driver.switchTo().window(handle);
+                return contextId;
+            }
+        }
+        dispose(driver, contextId);
+        throw new IllegalStateException("Не удалось найти окно для browser context " + contextId);
+    }
+
+    public static void close(WebDriver driver, String homeHandle, String contextId) {
+        driver.switchTo().window(homeHandle);
+        dispose(driver, contextId);
+    }
+
+    private static void dispose(WebDriver driver, String contextId) {
+        ((HasCdp) driver).executeCdpCommand("Target.disposeBrowserContext",
+                Map.of("browserContextId", contextId));
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.driver;
+
+import com.example.config.DriverConfig;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public enum BrowserProfile {
+    FAST_HEADLESS(true),
+    DEBUG_HEADED(false),
+    // Режим окна берётся из driver.profile: загрузки идут так же, как остальные тесты запуска
+    DOWNLOAD(false);
+
+    private static final int VIEWPORT_WIDTH = 1920;
+    private static final int VIEWPORT_HEIGHT = 1080;
+
+    private final boolean headless;
+
+    BrowserProfile(boolean headless) {
+        this.headless = headless;
+    }
+
+    public boolean isHeadless() {
+        if (this == DOWNLOAD) {
+            BrowserProfile configured = DriverConfig.getBrowserProfile();
+            return configured == DOWNLOAD ? headless : configured.isHeadless();
+        }
+        return headless;
+    }
+
+    public Capabilities options(DriverFactory.BrowserType browserType) {
+        switch (browserType) {
+            case FIREFOX:
+                return firefoxOptions(DriverConfig.getDownloadDir());
+            case CHROME:
+            default:
+                return chromeOptions(DriverConfig.getDownloadDir());
+        }
+    }
+
+    public ChromeOptions chromeOptions(String downloadPath) {
+        ChromeOptions options = new ChromeOptions();
+        Map<String, Object> prefs = new HashMap<>();
+
+        if (isHeadless()) {
+            options.addArguments(
+                    "--headless=new",
+                    "--window-size=" + VIEWPORT_WIDTH + "," + VIEWPORT_HEIGHT,
+                    "--disable-extensions",
+                    "--disable-background-timer-throttling",
+                    "--disable-backgrounding-occluded-windows",
+                    "--disable-renderer-backgrounding",
+                    "--disable-dev-shm-usage",
+                    "--no-first-run",
+                    "--no-default-browser-check");
+            if (!DriverConfig.isImageLoadingEnabled()) {
+                prefs.put("profile.managed_default_content_settings.images", 2);
+            }
+        }
+
+        if (this == DOWNLOAD) {
+            prefs.put("download.default_directory", downloadPath);
+            prefs.put("download.prompt_for_download", false);
+            prefs.put("download.directory_upgrade", true);
+            prefs.put("safebrowsing.enabled", true);
+            prefs.put("profile.default_content_settings.popups", 0);
+        }
+
+        if (!prefs.isEmpty()) {
+            options.setExperimentalOption("prefs", prefs);
+        }
+        return options;
+    }
+
+    public FirefoxOptions firefoxOptions(String downloadPath) {
+        FirefoxOptions options = new FirefoxOptions();
+
+        if (isHeadless()) {
+            options.addArguments("-headless", "--width=" + VIEWPORT_WIDTH, "--height=" + VIEWPORT_HEIGHT);
+            options.addPreference("extensions.enabledScopes", 0);
+            options.addPreference("dom.min_background_timeout_value", 0);
+            options.addPreference("browser.sessionstore.resume_from_crash", false);
+            if (!DriverConfig.isImageLoadingEnabled()) {
+                options.addPreference("permissions.default.image", 2);
+            }
+        }
+
+        if (this == DOWNLOAD) {
+            options.addPreference("browser.download.folderList", 2);
+            options.addPreference("browser.download.dir", downloadPath);
+            options.addPreference("browser.download.useDownloadDir", true);
+            options.addPreference("browser.helperApps.neverAsk.saveToDisk",
+                    "application/pdf,image/png,application/octet-stream");
+            options.addPreference("pdfjs.disabled", true);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.driver;
+
+import com.example.config.DriverConfig;
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class DriverBinaryResolver {
+
+    private static final Pattern VERSION_PATTERN = Pattern.compile("(\\d+)(\\.\\d+)+");
+    private static final Map<DriverFactory.BrowserType, Path> RESOLVED = new ConcurrentHashMap<>();
+
+    private DriverBinaryResolver() {
+    }
+
+    public static Path resolve(DriverFactory.BrowserType browserType) {
+        return RESOLVED.computeIfAbsent(browserType, DriverBinaryResolver::resolveOnce);
+    }
+
+    private static Path resolveOnce(DriverFactory.BrowserType browserType) {
+        String property = driverProperty(browserType);
+
+        String preset = System.getProperty(property);
+        if (preset != null && Files.isExecutable(Paths.get(preset))) {
+            return Paths.get(preset);
+        }
+
+        Optional<String> majorVersion = detectBrowserMajorVersion(browserType);
+        Path manifest = Paths.get(DriverConfig.getDriverManifestPath());
+        String key = browserKey(browserType) + "." + majorVersion.orElse("unknown");
+
+        Properties entries = loadManifest(manifest);
+        Optional<String> cached = majorVersion.isPresent()
+                ? Optional.ofNullable(entries.getProperty(key)).filter(path -> Files.isExecutable(Paths.get(path)))
+                // Версию браузера узнать не удалось (нет бинарника в PATH, обёртка-скрипт): берём самый новый драйвер
+                : newestManifestEntry(entries, browserType);
+        if (cached.isPresent()) {
+            System.setProperty(property, cached.get());
+            return Paths.get(cached.get());
+        }
+
+        if (DriverConfig.isDriverResolutionOffline()) {
+            throw new IllegalStateException("Драйвер для " + key + " не найден в манифесте " + manifest
+                    + ", а загрузка запрещена (driver.offline=true)");
+        }
+
+        WebDriverManager manager = managerFor(browserType);
+        majorVersion.ifPresent(manager::browserVersion);
+        manager.setup();
+        Path driverPath = Paths.get(manager.getDownloadedDriverPath());
+        System.setProperty(property, driverPath.toString());
+
+        if (majorVersion.isPresent()) {
+            storeInManifest(manifest, key, driverPath);
+        }
+        return driverPath;
+    }
+
+    private static Optional<String> detectBrowserMajorVersion(DriverFactory.BrowserType browserType) {
+        for (String binary : browserCandidates(browserType)) {
+            try {
+                Process process = new ProcessBuilder(binary, "--version")
+                        .redirectErrorStream(true)
+                        .start();
+                if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                    continue;
+                }
+                String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+                Matcher matcher = VERSION_PATTERN.matcher(output);
+                if (process.exitValue() == 0 && matcher.find()) {
+                    return Optional.of(matcher.group(1));
+                }
+            } catch (IOException e) {
+                // Бинарника нет по этому пути, пробуем следующий
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<String> newestManifestEntry(Properties entries, DriverFactory.BrowserType browserType) {
+        String prefix = browserKey(browserType) + ".";
+        String newest = null;
+        int newestVersion = -1;
+        for (String name : entries.stringPropertyNames()) {
+            if (!name.startsWith(prefix)) {
+                continue;
+            }
+            int version;
+            try {
+                version = Integer.parseInt(name.substring(prefix.length()));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            String path = entries.getProperty(name);
+            if (version > newestVersion && Files.isExecutable(Paths.get(path))) {
+                newest = path;
+                newestVersion = version;
+            }
+        }
+        return Optional.ofNullable(newest);
+    }
+
+    private static List<String> browserCandidates(DriverFactory.BrowserType browserType) {
+        String configured = DriverConfig.getBrowserBinary(browserKey(browserType));
+        if (configured != null) {
+            return List.of(configured);
+        }
+        switch (browserType) {
+            case FIREFOX:
+                return List.of("firefox",
+                        "/Applications/Firefox.app/Contents/MacOS/firefox");
+            case CHROME:
+            default:
+                return List.of("google-chrome", "google-chrome-stable", "chromium", "chromium-browser",
+                        "/Applications/Google Chrome.app/Contents/MacOS/Google Chrome");
+        }
+    }
+
+    private static Properties loadManifest(Path manifest) {
+        Properties properties = new Properties();
+        if (Files.exists(manifest)) {
+            try (InputStream in = Files.newInputStream(manifest)) {
+                properties.load(in);
+            } catch (IOException e) {
+                System.err.println("Не удалось прочитать манифест драйверов " + manifest + ": " + e.getMessage());
+            }
+        }
+        return properties;
+    }
+
+    private static synchronized void storeInManifest(Path manifest, String key, Path driverPath) {
+        try {
+            Files.createDirectories(manifest.toAbsolutePath().getParent());
+            Properties properties = loadManifest(manifest);
+            properties.setProperty(key, driverPath.toAbsolutePath().toString());
+
+            // Пишем через временный файл, чтобы параллельные JVM не прочитали манифест наполовину
+            Path tmp = Files.createTempFile(manifest.toAbsolutePath().getParent(), "driver-manifest", ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                properties.store(out, "Resolved WebDriver binaries by browser major version");
+            }
+            Files.move(tmp, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Не удалось обновить манифест драйверов " + manifest + ": " + e.getMessage());
+        }
+    }
+
+    private static WebDriverManager managerFor(DriverFactory.BrowserType browserType) {
+        switch (browserType) {
+            case FIREFOX:
+                return WebDriverManager.firefoxdriver();
+            case CHROME:
+            default:
+                return WebDriverManager.chromedriver();
+        }
+    }
+
+    static String driverProperty(DriverFactory.BrowserType browserType) {
+        switch (browserType) {
+            case FIREFOX:
+                return "webdriver.gecko.driver";
+            case CHROME:
+            default:
+                return "webdriver.chrome.driver";
+        }
+    }
+
+    private static String browserKey(DriverFactory.BrowserType browserType) {
+        return browserType.name().toLowerCase();
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.driver;
+
+import com.example.manager.PageManager;
+import org.openqa.selenium.WebDriver;
+
+public class DriverContext {
+
+    private static final ThreadLocal<WebDriver> DRIVER = new ThreadLocal<>();
+    private static final ThreadLocal<PageManager> PAGE_MANAGER = new ThreadLocal<>();
+
+    private DriverContext() {
+    }
+
+    public static void bind(WebDriver driver) {
+        if (DRIVER.get() != null && DRIVER.get() != driver) {
+            throw new IllegalStateException("К потоку " + Thread.currentThread().getName()
+                    + " уже привязан другой WebDriver");
+        }
+        DRIVER.set(driver);
+    }
+
+    public static WebDriver unbind() {
+        WebDriver driver = DRIVER.get();
+        DRIVER.remove();
+        PAGE_MANAGER.remove();
+        return driver;
+    }
+
+    public static boolean isBound() {
+        return DRIVER.get() != null;
+    }
+
+    public static WebDriver getDriver() {
+        WebDriver driver = DRIVER.get();
+        if (driver == null) {
+            throw new IllegalStateException("WebDriver не привязан к потоку " + Thread.currentThread().getName()
+                    + ". Подключите DriverExtension к тестовому классу");
+        }
+        return driver;
+    }
+
+    public static PageManager getPageManager() {
+        PageManager pageManager = PAGE_MANAGER.get();
+        if (pageManager == null) {
+            pageManager = new PageManager(getDriver());
+            PAGE_MANAGER.set(pageManager);
+        }
+        return pageManager;
+    }
+}
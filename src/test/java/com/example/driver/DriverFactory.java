@@ -1,14 +1,36 @@
 package com.example.driver;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.example.binding.ElementCache;
+import com.example.binding.ShadowLocator;
+import com.example.binding.ShadowRootStats;
+import com.example.config.DriverConfig;
+import com.example.script.PinnedScriptStats;
+import com.example.script.PinnedScripts;
+import com.example.wait.DomWait;
+import com.example.wait.PageReadiness;
+import com.example.wait.ReadinessStats;
+import com.example.wait.WaitStats;
+import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.service.DriverService;
 
-import java.util.HashMap;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class DriverFactory {
 
@@ -17,57 +39,346 @@ public class DriverFactory {
         FIREFOX
     }
 
+    public enum IsolationMode {
+        PROCESS,
+        BROWSER_CONTEXT
+    }
+
+    public enum DriverMode {
+        LOCAL,
+        REMOTE
+    }
+
+    private static final AtomicBoolean SHUTDOWN_HOOK_REGISTERED = new AtomicBoolean();
+    private static final Map<BrowserType, DriverPool> POOLS = new ConcurrentHashMap<>();
+    private static volatile LocalGrid createdGrid;
+
     private DriverFactory() {
     }
 
+    // У каждого браузера свой пул: сессии Chrome и Firefox не взаимозаменяемы
+    private static DriverPool pool(BrowserType browserType) {
+        return POOLS.computeIfAbsent(browserType, type -> {
+            registerShutdownHook();
+            return new DriverPool(() -> createDriver(type), () -> tryCreateDriver(type),
+                    DriverConfig.getPoolSize(type),
+                    DriverConfig.getMaxUsesPerSession(),
+                    DriverConfig.getBorrowTimeoutMillis(),
+                    DriverConfig.getIsolationMode(),
+                    new SessionWatchdog(DriverConfig.getProbeTimeoutMillis(),
+                            DriverConfig.getProbeIntervalMillis(),
+                            DriverConfig.getProbeFailureThreshold(),
+                            DriverConfig.getProbeHungAfterMillis()));
+        });
+    }
+
+    private static class GridHolder {
+        private static final LocalGrid GRID = createGrid();
+        private static final URL HUB_URL = hubUrl();
+
+        private static LocalGrid createGrid() {
+            if (DriverConfig.getGridUrl() != null) {
+                return null;
+            }
+            LocalGrid grid = new LocalGrid(DriverConfig.getGridNodes(),
+                    DriverConfig.getGridMaxSessionsPerNode(),
+                    DriverConfig.getGridBrowsers(),
+                    Paths.get(DriverConfig.getGridLogDir()));
+            createdGrid = grid;
+            registerShutdownHook();
+            return grid;
+        }
+
+        private static URL hubUrl() {
+            if (GRID != null) {
+                return GRID.start();
+            }
+            try {
+                return new URL(DriverConfig.getGridUrl());
+            } catch (MalformedURLException e) {
+                throw new IllegalStateException("Некорректный адрес Selenium Grid: " + DriverConfig.getGridUrl(), e);
+            }
+        }
+    }
+
+    private static void registerShutdownHook() {
+        if (SHUTDOWN_HOOK_REGISTERED.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(DriverFactory::shutdown, "driver-shutdown"));
+        }
+    }
+
+    // Один hook вместо нескольких: порядок важен, добиваем процессы только после штатного закрытия пула
+    private static void shutdown() {
+        POOLS.forEach((browserType, pool) -> {
+            System.out.println("Пул драйверов " + browserType + ": " + pool.getStats());
+            pool.shutdown();
+        });
+        LocalGrid grid = createdGrid;
+        if (grid != null) {
+            System.out.println("Selenium Grid: " + grid.getStats());
+            grid.shutdown();
+        }
+        if (DriverConfig.isWarmProfileEnabled() && DriverConfig.getDriverMode() == DriverMode.LOCAL) {
+            System.out.println("Шаблон профиля: " + WarmProfileTemplate.getInstance().getStats());
+            WarmProfileTemplate.getInstance().cleanup();
+        }
+        if (DriverConfig.isAdmissionControlEnabled()) {
+            System.out.println("Контроль запуска браузеров: " + BrowserAdmissionController.getInstance().getStats());
+        }
+        if (DriverConfig.isElementCacheEnabled()) {
+            System.out.println("Кеш элементов страниц: " + ElementCache.getStats());
+        }
+        ShadowRootStats shadowRoots = ShadowLocator.getStats();
+        if (shadowRoots.getMisses() > 0) {
+            System.out.println("Теневые корни: " + shadowRoots);
+        }
+        WaitStats waits = DomWait.getStats();
+        if (waits.getWaits() > 0) {
+            System.out.println("Ожидания DOM: " + waits);
+        }
+        PinnedScriptStats scripts = PinnedScripts.getStats();
+        if (scripts.getCalls() > 0) {
+            System.out.println("Закреплённые скрипты: " + scripts);
+        }
+        ReadinessStats readiness = PageReadiness.getStats();
+        if (readiness.getWaits() > 0) {
+            System.out.println("Готовность страниц: " + readiness);
+        }
+        if (DriverConfig.isProcessReaperEnabled()) {
+            DriverProcessReaper reaper = DriverProcessReaper.getInstance();
+            reaper.reapTracked();
+            System.out.println("Процессы драйверов: " + reaper.getStats());
+        }
+    }
+
+    public static void reapLeakedProcesses() {
+        if (DriverConfig.isProcessReaperEnabled()) {
+            DriverProcessReaper.getInstance().reapPreviousRuns();
+        }
+    }
+
+    public static WebDriver borrowDriver() {
+        return borrowDriver(DriverConfig.getBrowser());
+    }
+
+    public static WebDriver borrowDriver(BrowserType browserType) {
+        return pool(browserType).borrow();
+    }
+
+    public static void releaseDriver(WebDriver driver) {
+        for (DriverPool pool : POOLS.values()) {
+            if (pool.isPooled(driver)) {
+                pool.release(driver);
+                return;
+            }
+        }
+        driver.quit();
+    }
+
+    // Простаивающий браузер любого пула держит разрешение admission control до завершения процесса
+    private static boolean evictIdleSession() {
+        for (DriverPool pool : POOLS.values()) {
+            if (pool.evictIdle()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static int prewarmDrivers(int readySessions) {
+        return prewarmDrivers(DriverConfig.getBrowser(), readySessions);
+    }
+
+    public static int prewarmDrivers(BrowserType browserType, int readySessions) {
+        return pool(browserType).prewarm(readySessions);
+    }
+
+    public static DriverPoolStats getPoolStats() {
+        return getPoolStats(DriverConfig.getBrowser());
+    }
+
+    public static DriverPoolStats getPoolStats(BrowserType browserType) {
+        return pool(browserType).getStats();
+    }
+
     public static WebDriver createDriver(BrowserType browserType) {
-        return createDriver(browserType, null);
+        return createDriver(browserType, DriverConfig.getBrowserProfile());
+    }
+
+    public static WebDriver createDriver(BrowserType browserType, BrowserProfile profile) {
+        return createDriver(browserType, profile.options(browserType));
     }
 
     public static WebDriver createDriver(BrowserType browserType, Object options) {
-        WebDriver driver;
+        return createDriver(browserType, options, true);
+    }
 
-        switch (browserType) {
-            case FIREFOX:
-                WebDriverManager.firefoxdriver().setup();
-                if (options instanceof FirefoxOptions) {
-                    driver = new FirefoxDriver((FirefoxOptions) options);
-                } else {
-                    driver = new FirefoxDriver();
-                }
-                break;
-            case CHROME:
-            default:
-                WebDriverManager.chromedriver().setup();
-                if (options instanceof ChromeOptions) {
-                    driver = new ChromeDriver((ChromeOptions) options);
-                } else {
-                    driver = new ChromeDriver();
+    // Браузер впрок: только если admission control пускает сразу, иначе null. Ждать разрешения и закрывать
+    // ради него простаивающие сессии может только тест, которому браузер нужен сейчас
+    private static WebDriver tryCreateDriver(BrowserType browserType) {
+        return createDriver(browserType, DriverConfig.getBrowserProfile().options(browserType), false);
+    }
+
+    private static WebDriver createDriver(BrowserType browserType, Object options, boolean waitForAdmission) {
+        registerShutdownHook();
+        reapLeakedProcesses();
+        if (DriverConfig.getDriverMode() == DriverMode.REMOTE) {
+            return createRemoteDriver(browserType, options);
+        }
+
+        boolean admitted = DriverConfig.isAdmissionControlEnabled();
+        if (admitted) {
+            BrowserAdmissionController admission = BrowserAdmissionController.getInstance();
+            if (waitForAdmission) {
+                admission.setIdleReclaimer(DriverFactory::evictIdleSession);
+                admission.acquire(DriverConfig.getBorrowTimeoutMillis());
+            } else if (!admission.tryAcquire()) {
+                return null;
+            }
+        }
+
+        // Профиль копируем только после разрешения: копия без запущенного браузера никому не нужна
+        Path profileClone = null;
+        DriverService service = null;
+        WebDriver driver;
+        try {
+            if (browserType == BrowserType.CHROME && DriverConfig.isWarmProfileEnabled()
+                    && options instanceof ChromeOptions && !hasArgument(options, "--user-data-dir")) {
+                Optional<Path> clone = WarmProfileTemplate.getInstance().cloneForSession();
+                if (clone.isPresent()) {
+                    profileClone = clone.get();
+                    options = WarmProfileTemplate.getInstance().withUserDataDir((ChromeOptions) options, profileClone);
                 }
-                break;
+            }
+
+            switch (browserType) {
+                case FIREFOX:
+                    DriverBinaryResolver.resolve(BrowserType.FIREFOX);
+                    GeckoDriverService geckoService = GeckoDriverService.createDefaultService();
+                    service = geckoService;
+                    if (options instanceof FirefoxOptions) {
+                        driver = new FirefoxDriver(geckoService, (FirefoxOptions) options);
+                    } else {
+                        driver = new FirefoxDriver(geckoService);
+                    }
+                    break;
+                case CHROME:
+                default:
+                    DriverBinaryResolver.resolve(BrowserType.CHROME);
+                    ChromeDriverService chromeService = ChromeDriverService.createDefaultService();
+                    service = chromeService;
+                    if (profileClone != null) {
+                        driver = new ClonedProfileChromeDriver(chromeService, (ChromeOptions) options, profileClone);
+                    } else if (options instanceof ChromeOptions) {
+                        driver = new ChromeDriver(chromeService, (ChromeOptions) options);
+                    } else {
+                        driver = new ChromeDriver(chromeService);
+                    }
+                    break;
+            }
+        } catch (RuntimeException e) {
+            if (admitted) {
+                BrowserAdmissionController.getInstance().release();
+            }
+            if (profileClone != null) {
+                WarmProfileTemplate.getInstance().delete(profileClone);
+            }
+            throw e;
+        }
+
+        Optional<ProcessHandle> process = DriverProcesses.findServiceProcess(service);
+        process.ifPresent(handle -> DriverProcesses.register(driver, handle));
+        if (process.isPresent() && profileClone != null) {
+            // Убитую сессию никто не закроет через quit(), копию удаляем по завершении процесса
+            Path clone = profileClone;
+            process.get().onExit().thenRun(() -> WarmProfileTemplate.getInstance().delete(clone));
+        }
+        if (process.isPresent() && DriverConfig.isProcessReaperEnabled()) {
+            DriverProcessReaper.getInstance().track(process.get());
+        }
+        if (admitted) {
+            // Разрешение возвращается, когда завершается процесс драйвера, как бы ни закрыли сессию
+            if (process.isPresent()) {
+                process.get().onExit().thenRun(() -> BrowserAdmissionController.getInstance().release());
+            } else {
+                BrowserAdmissionController.getInstance().release();
+            }
         }
 
-        driver.manage().window().maximize();
+        // В headless-режиме размер окна задаётся аргументами профиля, maximize его бы сбросил
+        if (!isHeadless(options)) {
+            driver.manage().window().maximize();
+        }
         return driver;
     }
 
+    // Браузеры живут в процессах узлов Grid: их число ограничивает --max-sessions, а не admission control
+    private static WebDriver createRemoteDriver(BrowserType browserType, Object options) {
+        Capabilities capabilities;
+        if (options instanceof Capabilities) {
+            capabilities = (Capabilities) options;
+        } else if (browserType == BrowserType.FIREFOX) {
+            capabilities = new FirefoxOptions();
+        } else {
+            capabilities = new ChromeOptions();
+        }
+
+        // Augmenter добавляет HasCdp, на котором держатся очистка сессий пула и BROWSER_CONTEXT
+        WebDriver driver = new Augmenter().augment(new RemoteWebDriver(GridHolder.HUB_URL, capabilities));
+        if (!isHeadless(options)) {
+            driver.manage().window().maximize();
+        }
+        return driver;
+    }
+
+    private static boolean isHeadless(Object options) {
+        return hasArgument(options, "--headless") || hasArgument(options, "-headless");
+    }
+
+    private static boolean hasArgument(Object options, String prefix) {
+        Object browserOptions = null;
+        if (options instanceof ChromeOptions) {
+            browserOptions = ((ChromeOptions) options).asMap().get(ChromeOptions.CAPABILITY);
+        } else if (options instanceof FirefoxOptions) {
+            browserOptions = ((FirefoxOptions) options).asMap().get(FirefoxOptions.FIREFOX_OPTIONS);
+        }
+        if (!(browserOptions instanceof Map)) {
+            return false;
+        }
+        Object args = ((Map<?, ?>) browserOptions).get("args");
+        return args instanceof List && ((List<?>) args).stream()
+                .anyMatch(arg -> String.valueOf(arg).startsWith(prefix));
+    }
+
     public static WebDriver createDriverWithOptions(ChromeOptions options) {
         return createDriver(BrowserType.CHROME, options);
     }
 
     public static WebDriver createDefaultDriver() {
-        return createDriver(BrowserType.CHROME);
+        return createDriver(DriverConfig.getBrowser());
     }
 
     public static ChromeOptions getChromeOptionsForDownload(String downloadPath) {
-        ChromeOptions options = new ChromeOptions();
-        Map<String, Object> prefs = new HashMap<>();
-        prefs.put("download.default_directory", downloadPath);
-        prefs.put("download.prompt_for_download", false);
-        prefs.put("download.directory_upgrade", true);
-        prefs.put("safebrowsing.enabled", true);
-        prefs.put("profile.default_content_settings.popups", 0);
-        options.setExperimentalOption("prefs", prefs);
-        return options;
+        return BrowserProfile.DOWNLOAD.chromeOptions(downloadPath);
+    }
+
+    // Копия профиля удаляется при quit(), даже если процесс драйвера найти не удалось
+    private static class ClonedProfileChromeDriver extends ChromeDriver {
+
+        private final Path profileClone;
+
+        private ClonedProfileChromeDriver(ChromeDriverService service, ChromeOptions options, Path profileClone) {
+            super(service, options);
+            this.profileClone = profileClone;
+        }
+
+        @Override
+        public void quit() {
+            try {
+                super.quit();
+            } finally {
+                WarmProfileTemplate.getInstance().delete(profileClone);
+            }
+        }
     }
 }
\ No newline at end of file
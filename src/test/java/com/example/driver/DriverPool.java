@@ -0,0 +1,403 @@
+package com.example.driver;
+
+import com.example.wait.PageReadiness;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class DriverPool {
+
+    private static final long DEFAULT_PROBE_TIMEOUT_MILLIS = 5000;
+
+    private final Supplier<WebDriver> factory;
+    // Для заранее запускаемых сессий: null, если браузер сейчас запускать нельзя
+    private final Supplier<WebDriver> prewarmFactory;
+    private final int maxSize;
+    private final int maxUsesPerSession;
+    private final long borrowTimeoutMillis;
+    private final DriverFactory.IsolationMode isolationMode;
+    private final SessionWatchdog watchdog;
+
+    private final BlockingDeque<PooledSession> idle = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, PooledSession> borrowed = new ConcurrentHashMap<>();
+    private final AtomicInteger live = new AtomicInteger();
+    private final AtomicInteger spawning = new AtomicInteger();
+    private final ExecutorService prewarmExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "driver-prewarm");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean closed;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong recycled = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong totalBorrowNanos = new AtomicLong();
+    private final AtomicLong maxBorrowNanos = new AtomicLong();
+    private final AtomicLong prewarmedBorrows = new AtomicLong();
+    private final AtomicLong totalPrewarmLeadNanos = new AtomicLong();
+    private final AtomicLong replaced = new AtomicLong();
+
+    public DriverPool(Supplier<WebDriver> factory, int maxSize, int maxUsesPerSession, long borrowTimeoutMillis) {
+        this(factory, maxSize, maxUsesPerSession, borrowTimeoutMillis, DriverFactory.IsolationMode.PROCESS);
+    }
+
+    public DriverPool(Supplier<WebDriver> factory, int maxSize, int maxUsesPerSession, long borrowTimeoutMillis,
+                      DriverFactory.IsolationMode isolationMode) {
+        this(factory, maxSize, maxUsesPerSession, borrowTimeoutMillis, isolationMode,
+                new SessionWatchdog(DEFAULT_PROBE_TIMEOUT_MILLIS, 0, 1));
+    }
+
+    public DriverPool(Supplier<WebDriver> factory, int maxSize, int maxUsesPerSession, long borrowTimeoutMillis,
+                      DriverFactory.IsolationMode isolationMode, SessionWatchdog watchdog) {
+        this(factory, factory, maxSize, maxUsesPerSession, borrowTimeoutMillis, isolationMode, watchdog);
+    }
+
+    public DriverPool(Supplier<WebDriver> factory, Supplier<WebDriver> prewarmFactory, int maxSize,
+                      int maxUsesPerSession, long borrowTimeoutMillis, DriverFactory.IsolationMode isolationMode,
+                      SessionWatchdog watchdog) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Размер пула должен быть больше 0: " + maxSize);
+        }
+        this.factory = factory;
+        this.prewarmFactory = prewarmFactory;
+        this.maxSize = maxSize;
+        this.maxUsesPerSession = maxUsesPerSession;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.isolationMode = isolationMode;
+        this.watchdog = watchdog;
+        // Убитые сессии остаются в borrowed до release, но проверять их снова незачем
+        watchdog.watch(() -> borrowed.values().stream()
+                .filter(session -> !session.dead.get())
+                .map(session -> session.driver)
+                .collect(Collectors.toList()), this::replaceHung);
+    }
+
+    public WebDriver borrow() {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis);
+
+        while (true) {
+            PooledSession session = idle.pollFirst();
+            if (session != null) {
+                if (watchdog.probe(session.driver)) {
+                    hits.incrementAndGet();
+                    return lend(session, start);
+                }
+                // Зависшую сессию убиваем, освободившийся слот тут же займёт новая
+                kill(session);
+                continue;
+            }
+
+            if (tryReserveSlot()) {
+                session = createSession(factory);
+                misses.incrementAndGet();
+                return lend(session, start);
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new IllegalStateException("Не удалось получить WebDriver из пула за "
+                        + borrowTimeoutMillis + " мс (размер пула: " + maxSize + ")");
+            }
+            try {
+                // Слот мог освободиться без возврата сессии в очередь, поэтому ждём порциями
+                session = idle.pollFirst(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(200)), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Ожидание WebDriver из пула прервано", e);
+            }
+            if (session != null) {
+                idle.offerFirst(session);
+            }
+        }
+    }
+
+    public int prewarm(int readySessions) {
+        int started = 0;
+        while (!closed && idle.size() + spawning.get() < readySessions && tryReserveSlot()) {
+            spawning.incrementAndGet();
+            started++;
+            prewarmExecutor.execute(() -> {
+                try {
+                    PooledSession session = createSession(prewarmFactory);
+                    if (session == null) {
+                        // Свободных ресурсов нет: браузер запустит сам тест, если он понадобится
+                        return;
+                    }
+                    session.readyAt = System.nanoTime();
+                    if (closed) {
+                        destroy(session);
+                    } else {
+                        idle.offerLast(session);
+                    }
+                } catch (RuntimeException e) {
+                    System.err.println("Не удалось заранее запустить WebDriver: " + e.getMessage());
+                } finally {
+                    spawning.decrementAndGet();
+                }
+            });
+        }
+        return started;
+    }
+
+    public void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        PooledSession session = borrowed.remove(driver);
+        if (session == null) {
+            quitQuietly(driver);
+            return;
+        }
+        if (session.dead.get()) {
+            // Сессию уже убил watchdog, замена запущена тогда же
+            return;
+        }
+
+        PageReadiness.detach(session.driver);
+        session.uses++;
+        if (session.uses >= maxUsesPerSession) {
+            destroy(session);
+            recycled.incrementAndGet();
+            return;
+        }
+
+        try {
+            if (session.browserContextId != null) {
+                // Закрытие контекста уничтожает его cookies, storage и окна целиком
+                BrowserContextIsolation.close(session.driver, session.homeHandle, session.browserContextId);
+                session.browserContextId = null;
+                session.driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+            } else {
+                scrub(session);
+            }
+            idle.offerFirst(session);
+        } catch (RuntimeException e) {
+            destroy(session);
+            discarded.incrementAndGet();
+        }
+    }
+
+    // Закрывает дольше всех простаивающую сессию, чтобы освободить место под другой браузер;
+    // false, если простаивающих сессий нет
+    public boolean evictIdle() {
+        PooledSession session = idle.pollLast();
+        if (session == null) {
+            return false;
+        }
+        destroy(session);
+        evicted.incrementAndGet();
+        return true;
+    }
+
+    public void invalidate(WebDriver driver) {
+        PooledSession session = borrowed.remove(driver);
+        if (session != null) {
+            destroy(session);
+            discarded.incrementAndGet();
+        } else if (driver != null) {
+            quitQuietly(driver);
+        }
+    }
+
+    public boolean isPooled(WebDriver driver) {
+        return borrowed.containsKey(driver);
+    }
+
+    public void shutdown() {
+        closed = true;
+        watchdog.shutdown();
+        prewarmExecutor.shutdown();
+        PooledSession session;
+        while ((session = idle.pollFirst()) != null) {
+            destroy(session);
+        }
+        for (WebDriver driver : borrowed.keySet()) {
+            invalidate(driver);
+        }
+    }
+
+    public DriverPoolStats getStats() {
+        return DriverPoolStats.builder()
+                .hits(hits.get())
+                .misses(misses.get())
+                .recycled(recycled.get())
+                .discarded(discarded.get())
+                .evicted(evicted.get())
+                .idle(idle.size())
+                .borrowed(borrowed.size())
+                .borrowCount(borrowCount.get())
+                .totalBorrowNanos(totalBorrowNanos.get())
+                .maxBorrowNanos(maxBorrowNanos.get())
+                .spawning(spawning.get())
+                .prewarmedBorrows(prewarmedBorrows.get())
+                .totalPrewarmLeadNanos(totalPrewarmLeadNanos.get())
+                .probes(watchdog.getProbes())
+                .probeFailures(watchdog.getFailures())
+                .totalProbeNanos(watchdog.getTotalProbeNanos())
+                .maxProbeNanos(watchdog.getMaxProbeNanos())
+                .replaced(replaced.get())
+                .build();
+    }
+
+    private boolean tryReserveSlot() {
+        while (true) {
+            int current = live.get();
+            if (current >= maxSize) {
+                return false;
+            }
+            if (live.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private PooledSession createSession(Supplier<WebDriver> factory) {
+        WebDriver driver = null;
+        try {
+            driver = factory.get();
+            if (driver == null) {
+                live.decrementAndGet();
+                return null;
+            }
+            return new PooledSession(driver);
+        } catch (RuntimeException e) {
+            live.decrementAndGet();
+            if (driver != null) {
+                driver.quit();
+            }
+            throw e;
+        }
+    }
+
+    private WebDriver lend(PooledSession session, long start) {
+        if (isolationMode == DriverFactory.IsolationMode.BROWSER_CONTEXT
+                && BrowserContextIsolation.isSupported(session.driver)) {
+            try {
+                session.browserContextId = BrowserContextIsolation.open(session.driver);
+            } catch (RuntimeException e) {
+                destroy(session);
+                discarded.incrementAndGet();
+                throw e;
+            }
+        }
+        borrowed.put(session.driver, session);
+        long now = System.nanoTime();
+        if (session.readyAt != 0) {
+            // Сессия была запущена заранее: считаем, сколько она ждала теста
+            prewarmedBorrows.incrementAndGet();
+            totalPrewarmLeadNanos.addAndGet(now - session.readyAt);
+            session.readyAt = 0;
+        }
+        long elapsed = now - start;
+        borrowCount.incrementAndGet();
+        totalBorrowNanos.addAndGet(elapsed);
+        maxBorrowNanos.accumulateAndGet(elapsed, Math::max);
+        return session.driver;
+    }
+
+    private void replaceHung(WebDriver driver) {
+        PooledSession session = borrowed.get(driver);
+        if (session == null || session.dead.get()) {
+            return;
+        }
+        System.err.println("WebDriver не отвечает, сессия убита и будет заменена");
+        kill(session);
+        if (!closed) {
+            prewarm(idle.size() + spawning.get() + 1);
+        }
+    }
+
+    private void kill(PooledSession session) {
+        if (session.dead.compareAndSet(false, true)) {
+            live.decrementAndGet();
+            replaced.incrementAndGet();
+            watchdog.kill(session.driver);
+        }
+    }
+
+    private void scrub(PooledSession session) {
+        WebDriver driver = session.driver;
+
+        try {
+            driver.switchTo().alert().dismiss();
+        } catch (NoAlertPresentException e) {
+            // Диалогов нет
+        }
+
+        for (String handle : driver.getWindowHandles()) {
+            if (!handle.equals(session.homeHandle)) {
+                driver.switchTo().window(handle).close();
+            }
+        }
+        driver.switchTo().window(session.homeHandle);
+        driver.switchTo().defaultContent();
+
+        if (driver instanceof HasCdp) {
+            ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+        } else {
+            driver.manage().deleteAllCookies();
+        }
+        if (driver instanceof JavascriptExecutor) {
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+        }
+
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        driver.get("about:blank");
+    }
+
+    // Чужой или уже убитый драйвер: сессии может не быть, это не ошибка
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (RuntimeException e) {
+            // Сессия уже закрыта
+        }
+    }
+
+    private void destroy(PooledSession session) {
+        if (!session.dead.compareAndSet(false, true)) {
+            return;
+        }
+        live.decrementAndGet();
+        try {
+            session.driver.quit();
+        } catch (RuntimeException e) {
+            // Сессия уже мертва
+        }
+    }
+
+    private static class PooledSession {
+        private final WebDriver driver;
+        private final String homeHandle;
+        private int uses;
+        private String browserContextId;
+        private long readyAt;
+        private final AtomicBoolean dead = new AtomicBoolean();
+
+        private PooledSession(WebDriver driver) {
+            this.driver = driver;
+            this.homeHandle = driver.getWindowHandle();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.driver;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class DriverPoolStats {
+
+    long hits;
+    long misses;
+    long recycled;
+    long discarded;
+    long evicted;
+    int idle;
+    int borrowed;
+    long borrowCount;
+    long totalBorrowNanos;
+    long maxBorrowNanos;
+    int spawning;
+    long prewarmedBorrows;
+    long totalPrewarmLeadNanos;
+    long probes;
+    long probeFailures;
+    long totalProbeNanos;
+    long maxProbeNanos;
+    long replaced;
+
+    public double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public double getAverageBorrowMillis() {
+        return borrowCount == 0 ? 0 : totalBorrowNanos / 1_000_000.0 / borrowCount;
+    }
+
+    public double getMaxBorrowMillis() {
+        return maxBorrowNanos / 1_000_000.0;
+    }
+
+    public double getAveragePrewarmLeadMillis() {
+        return prewarmedBorrows == 0 ? 0 : totalPrewarmLeadNanos / 1_000_000.0 / prewarmedBorrows;
+    }
+
+    public double getAverageProbeMillis() {
+        return probes == 0 ? 0 : totalProbeNanos / 1_000_000.0 / probes;
+    }
+
+    public double getMaxProbeMillis() {
+        return maxProbeNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d, misses=%d (hit ratio %.0f%%), recycled=%d, discarded=%d, evicted=%d, " +
+                        "idle=%d, borrowed=%d, spawning=%d, borrow wait avg=%.1f ms, max=%.1f ms, " +
+                        "prewarmed borrows=%d, prewarm lead avg=%.1f ms, " +
+                        "probes=%d (failed %d), probe avg=%.1f ms, max=%.1f ms, replaced=%d",
+                hits, misses, getHitRatio() * 100, recycled, discarded, evicted,
+                idle, borrowed, spawning, getAverageBorrowMillis(), getMaxBorrowMillis(),
+                prewarmedBorrows, getAveragePrewarmLeadMillis(),
+                probes, probeFailures, getAverageProbeMillis(), getMaxProbeMillis(), replaced);
+    }
+}
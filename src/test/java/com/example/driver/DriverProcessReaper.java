@@ -0,0 +1,204 @@
+package com.example.driver;
+
+import com.example.config.DriverConfig;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+public class DriverProcessReaper {
+
+    // Браузер завершается чуть позже своего драйвера: столько ждём, прежде чем считать процесс утёкшим
+    private static final long EXIT_GRACE_MILLIS = 2000;
+
+    private final Path registryDir;
+    private final Path registryFile;
+    private final Map<Long, TrackedProcess> tracked = new ConcurrentHashMap<>();
+    private final AtomicBoolean previousRunsReaped = new AtomicBoolean();
+
+    private final AtomicLong trackedTotal = new AtomicLong();
+    private final AtomicLong leakedFromPreviousRuns = new AtomicLong();
+    private final AtomicLong leakedAtShutdown = new AtomicLong();
+    private final AtomicLong reclaimedBytes = new AtomicLong();
+
+    private static class Holder {
+        private static final DriverProcessReaper INSTANCE = new DriverProcessReaper(Paths.get(DriverConfig.getReaperDir()));
+    }
+
+    public static DriverProcessReaper getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    DriverProcessReaper(Path registryDir) {
+        this.registryDir = registryDir;
+        this.registryFile = registryDir.resolve(ProcessHandle.current().pid() + ".pids");
+    }
+
+    public void track(ProcessHandle serviceProcess) {
+        List<ProcessHandle> processes = new ArrayList<>();
+        processes.add(serviceProcess);
+        serviceProcess.descendants().forEach(processes::add);
+
+        for (ProcessHandle process : processes) {
+            startInstant(process).ifPresent(start -> {
+                tracked.put(process.pid(), new TrackedProcess(process.pid(), start));
+                trackedTotal.incrementAndGet();
+            });
+        }
+        persist();
+
+        // Штатно закрытая сессия больше не нуждается в присмотре; каждый процесс снимаем с учёта, когда он
+        // завершится сам, а не только в момент выхода драйвера
+        for (ProcessHandle process : processes) {
+            process.onExit().thenRun(() -> {
+                tracked.remove(process.pid());
+                persist();
+            });
+        }
+    }
+
+    public void reapPreviousRuns() {
+        if (!previousRunsReaped.compareAndSet(false, true) || !Files.isDirectory(registryDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(registryDir, "*.pids")) {
+            for (Path file : files) {
+                if (file.equals(registryFile) || isOwnerAlive(file)) {
+                    continue;
+                }
+                for (String line : Files.readAllLines(file)) {
+                    TrackedProcess process = TrackedProcess.parse(line);
+                    if (process != null && kill(process)) {
+                        leakedFromPreviousRuns.incrementAndGet();
+                    }
+                }
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            System.err.println("Не удалось проверить процессы прошлых запусков в " + registryDir + ": " + e.getMessage());
+        }
+    }
+
+    public void reapTracked() {
+        awaitExit(EXIT_GRACE_MILLIS);
+        for (TrackedProcess process : new ArrayList<>(tracked.values())) {
+            if (kill(process)) {
+                leakedAtShutdown.incrementAndGet();
+            }
+            tracked.remove(process.pid);
+        }
+        try {
+            Files.deleteIfExists(registryFile);
+        } catch (IOException e) {
+            System.err.println("Не удалось удалить " + registryFile + ": " + e.getMessage());
+        }
+    }
+
+    public String getStats() {
+        return String.format("tracked=%d, leaked from previous runs=%d, leaked at shutdown=%d, reclaimed=%s",
+                trackedTotal.get(), leakedFromPreviousRuns.get(), leakedAtShutdown.get(),
+                ProcessMetrics.formatMegabytes(reclaimedBytes.get()));
+    }
+
+    // Процессы закрытых только что сессий ещё завершаются: не считаем их утечкой раньше времени
+    private void awaitExit(long graceMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(graceMillis);
+        for (TrackedProcess process : new ArrayList<>(tracked.values())) {
+            Optional<ProcessHandle> handle = ProcessHandle.of(process.pid);
+            long remaining = deadline - System.nanoTime();
+            if (handle.isEmpty() || remaining <= 0) {
+                continue;
+            }
+            try {
+                handle.get().onExit().get(remaining, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                // Процесс не завершился сам, его добьёт kill
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private boolean kill(TrackedProcess tracked) {
+        Optional<ProcessHandle> handle = ProcessHandle.of(tracked.pid);
+        if (handle.isEmpty() || !handle.get().isAlive()) {
+            return false;
+        }
+        // PID мог достаться другому процессу, поэтому сверяем время старта
+        Optional<Instant> start = startInstant(handle.get());
+        if (start.isEmpty() || !start.get().equals(tracked.start)) {
+            return false;
+        }
+        reclaimedBytes.addAndGet(ProcessMetrics.rssBytes(tracked.pid));
+        handle.get().descendants().forEach(ProcessHandle::destroyForcibly);
+        return handle.get().destroyForcibly();
+    }
+
+    private boolean isOwnerAlive(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            long ownerPid = Long.parseLong(name.substring(0, name.length() - ".pids".length()));
+            return ProcessHandle.of(ownerPid).map(ProcessHandle::isAlive).orElse(false);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private synchronized void persist() {
+        try {
+            Files.createDirectories(registryDir);
+            Files.write(registryFile, tracked.values().stream()
+                    .map(TrackedProcess::format)
+                    .collect(Collectors.toList()));
+        } catch (IOException e) {
+            System.err.println("Не удалось сохранить список процессов драйверов: " + e.getMessage());
+        }
+    }
+
+    // В реестре время хранится в миллисекундах, а точность startInstant зависит от ОС: сравниваем с той же точностью
+    private static Optional<Instant> startInstant(ProcessHandle process) {
+        return process.info().startInstant().map(start -> start.truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    private static class TrackedProcess {
+        private final long pid;
+        private final Instant start;
+
+        private TrackedProcess(long pid, Instant start) {
+            this.pid = pid;
+            this.start = start;
+        }
+
+        private String format() {
+            return pid + " " + start.toEpochMilli();
+        }
+
+        private static TrackedProcess parse(String line) {
+            String[] parts = line.trim().split(" ");
+            if (parts.length != 2) {
+                return null;
+            }
+            try {
+                return new TrackedProcess(Long.parseLong(parts[0]), Instant.ofEpochMilli(Long.parseLong(parts[1])));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.driver;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.service.DriverService;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class DriverProcesses {
+
+    private static final Map<WebDriver, ProcessHandle> SERVICE_PROCESSES = new ConcurrentHashMap<>();
+
+    private DriverProcesses() {
+    }
+
+    public static void register(WebDriver driver, ProcessHandle serviceProcess) {
+        SERVICE_PROCESSES.put(driver, serviceProcess);
+        serviceProcess.onExit().thenRun(() -> SERVICE_PROCESSES.remove(driver));
+    }
+
+    // quit() у зависшей сессии может висеть так же, как любая другая команда, поэтому убиваем процессы напрямую
+    public static boolean kill(WebDriver driver) {
+        ProcessHandle process = SERVICE_PROCESSES.remove(driver);
+        if (process == null) {
+            return false;
+        }
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+        return true;
+    }
+
+    public static Optional<ProcessHandle> findServiceProcess(DriverService service) {
+        String port = String.valueOf(service.getUrl().getPort());
+        return ProcessHandle.current().children()
+                .filter(process -> listensOn(process, port))
+                .findFirst();
+    }
+
+    private static boolean listensOn(ProcessHandle process, String port) {
+        List<String> arguments = process.info().arguments()
+                .map(Arrays::asList)
+                .orElse(List.of());
+        for (int i = 0; i < arguments.size(); i++) {
+            String argument = arguments.get(i);
+            if (argument.equals("--port=" + port)
+                    || (argument.equals("--port") && i + 1 < arguments.size() && arguments.get(i + 1).equals(port))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
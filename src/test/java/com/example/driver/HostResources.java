@@ -0,0 +1,72 @@
+package com.example.driver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.OptionalLong;
+
+public class HostResources {
+
+    private static final Path MEMINFO = Paths.get("/proc/meminfo");
+    private static final Path CGROUP_V2 = Paths.get("/sys/fs/cgroup");
+    private static final Path CGROUP_V1 = Paths.get("/sys/fs/cgroup/memory");
+
+    private HostResources() {
+    }
+
+    public static int cpuCount() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    public static OptionalLong availableMemoryBytes() {
+        OptionalLong host = hostAvailableBytes();
+        OptionalLong cgroup = cgroupAvailableBytes();
+        if (host.isPresent() && cgroup.isPresent()) {
+            return OptionalLong.of(Math.min(host.getAsLong(), cgroup.getAsLong()));
+        }
+        return host.isPresent() ? host : cgroup;
+    }
+
+    private static OptionalLong hostAvailableBytes() {
+        try {
+            List<String> lines = Files.readAllLines(MEMINFO);
+            for (String line : lines) {
+                if (line.startsWith("MemAvailable:")) {
+                    String kb = line.substring("MemAvailable:".length()).replace("kB", "").trim();
+                    return OptionalLong.of(Long.parseLong(kb) * 1024);
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Не Linux или /proc недоступен
+        }
+        return OptionalLong.empty();
+    }
+
+    private static OptionalLong cgroupAvailableBytes() {
+        OptionalLong limit = readLong(CGROUP_V2.resolve("memory.max"));
+        OptionalLong usage = readLong(CGROUP_V2.resolve("memory.current"));
+        if (limit.isEmpty()) {
+            limit = readLong(CGROUP_V1.resolve("memory.limit_in_bytes"));
+            usage = readLong(CGROUP_V1.resolve("memory.usage_in_bytes"));
+        }
+        // В cgroup v1 «без лимита» выглядит как огромное число, такой лимит игнорируем
+        if (limit.isEmpty() || usage.isEmpty() || limit.getAsLong() >= Long.MAX_VALUE / 2) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(Math.max(0, limit.getAsLong() - usage.getAsLong()));
+    }
+
+    private static OptionalLong readLong(Path path) {
+        try {
+            String value = Files.readString(path).trim();
+            if ("max".equals(value)) {
+                return OptionalLong.empty();
+            }
+            return OptionalLong.of(Long.parseLong(value));
+        } catch (IOException | NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.driver;
+
+import com.example.config.DriverConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.net.PortProber;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class LocalGrid {
+
+    private static final String GRID_MAIN = "org.openqa.selenium.grid.Main";
+    private static final String SLOT_SELECTOR = "org.openqa.selenium.grid.distributor.selector.DefaultSlotSelector";
+    private static final long STARTUP_TIMEOUT_MILLIS = 60_000;
+    private static final long SAMPLE_INTERVAL_MILLIS = 1_000;
+
+    private final int nodes;
+    private final int maxSessionsPerNode;
+    private final List<DriverFactory.BrowserType> browsers;
+    private final Path logDir;
+    private final List<Process> processes = new ArrayList<>();
+    private final Map<String, NodeUtilization> utilization = new ConcurrentHashMap<>();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+
+    private ScheduledExecutorService sampler;
+    private URL hubUrl;
+
+    public LocalGrid(int nodes, int maxSessionsPerNode, List<DriverFactory.BrowserType> browsers, Path logDir) {
+        this.nodes = nodes;
+        this.maxSessionsPerNode = maxSessionsPerNode;
+        this.browsers = browsers;
+        this.logDir = logDir;
+    }
+
+    public synchronized URL start() {
+        if (hubUrl != null) {
+            return hubUrl;
+        }
+        try {
+            Files.createDirectories(logDir);
+            int hubPort = PortProber.findFreePort();
+            int publishPort = PortProber.findFreePort();
+            int subscribePort = PortProber.findFreePort();
+            String publish = "tcp://localhost:" + publishPort;
+            String subscribe = "tcp://localhost:" + subscribePort;
+
+            // Драйверы скачиваем один раз здесь, а узлам передаём готовые пути
+            List<String> driverProperties = new ArrayList<>();
+            for (DriverFactory.BrowserType browser : browsers) {
+                Path driverPath = DriverBinaryResolver.resolve(browser);
+                driverProperties.add("-D" + DriverBinaryResolver.driverProperty(browser) + "=" + driverPath);
+            }
+
+            launch("hub", List.of(), List.of("hub",
+                    "--port", String.valueOf(hubPort),
+                    "--publish-events", "tcp://*:" + publishPort,
+                    "--subscribe-events", "tcp://*:" + subscribePort,
+                    "--slot-selector", SLOT_SELECTOR));
+
+            for (int i = 0; i < nodes; i++) {
+                launch("node-" + (i + 1), driverProperties, List.of("node",
+                        "--port", String.valueOf(PortProber.findFreePort()),
+                        "--publish-events", publish,
+                        "--subscribe-events", subscribe,
+                        "--max-sessions", String.valueOf(maxSessionsPerNode),
+                        "--override-max-sessions", "true",
+                        "--detect-drivers", "true",
+                        "--selenium-manager", "false"));
+            }
+
+            URL url = new URL("http://localhost:" + hubPort);
+            awaitReady(url);
+            hubUrl = url;
+            startSampler();
+            return hubUrl;
+        } catch (IOException e) {
+            shutdown();
+            throw new IllegalStateException("Не удалось запустить локальный Selenium Grid", e);
+        } catch (RuntimeException e) {
+            shutdown();
+            throw e;
+        }
+    }
+
+    public synchronized void shutdown() {
+        if (sampler != null) {
+            sampler.shutdownNow();
+        }
+        // Сначала узлы вместе с их браузерами, хаб последним
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            ProcessHandle handle = processes.get(i).toHandle();
+            handle.descendants().forEach(ProcessHandle::destroyForcibly);
+            handle.destroy();
+        }
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroyForcibly();
+            }
+        }
+        processes.clear();
+        hubUrl = null;
+    }
+
+    public String getStats() {
+        StringBuilder stats = new StringBuilder();
+        utilization.forEach((uri, node) -> stats.append(System.lineSeparator())
+                .append("  ").append(uri).append(": ").append(node));
+        return "узлов " + utilization.size() + stats;
+    }
+
+    private void launch(String name, List<String> jvmArguments, List<String> gridArguments) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArguments);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(GRID_MAIN);
+        command.addAll(gridArguments);
+
+        File log = logDir.resolve(name + ".log").toFile();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        processes.add(process);
+        if (DriverConfig.isProcessReaperEnabled()) {
+            DriverProcessReaper.getInstance().track(process.toHandle());
+        }
+    }
+
+    private void awaitReady(URL url) {
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            JsonNode status = status(url);
+            if (status != null && status.path("ready").asBoolean()
+                    && status.path("nodes").size() == nodes) {
+                return;
+            }
+            for (Process process : processes) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Процесс Selenium Grid завершился при старте, см. логи в " + logDir);
+                }
+            }
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Ожидание запуска Selenium Grid прервано", e);
+            }
+        }
+        throw new IllegalStateException("Selenium Grid не поднялся за " + STARTUP_TIMEOUT_MILLIS
+                + " мс, см. логи в " + logDir);
+    }
+
+    private void startSampler() {
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "grid-utilization-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        URL url = hubUrl;
+        sampler.scheduleWithFixedDelay(() -> sample(url), 0, SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private void sample(URL url) {
+        JsonNode status = status(url);
+        if (status == null) {
+            return;
+        }
+        for (JsonNode node : status.path("nodes")) {
+            int busy = 0;
+            for (JsonNode slot : node.path("slots")) {
+                if (!slot.path("session").isMissingNode() && !slot.path("session").isNull()) {
+                    busy++;
+                }
+            }
+            utilization.computeIfAbsent(node.path("uri").asText(), uri -> new NodeUtilization())
+                    .record(busy, node.path("maxSessions").asInt(maxSessionsPerNode));
+        }
+    }
+
+    private JsonNode status(URL url) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/status"))
+                    .timeout(Duration.ofSeconds(2))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            return mapper.readTree(response.body()).path("value");
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static class NodeUtilization {
+        private int maxSessions;
+        private int peakBusy;
+        private long samples;
+        private long busyTotal;
+
+        private synchronized void record(int busy, int maxSessions) {
+            this.maxSessions = maxSessions;
+            this.peakBusy = Math.max(peakBusy, busy);
+            this.samples++;
+            this.busyTotal += busy;
+        }
+
+        @Override
+        public synchronized String toString() {
+            double average = samples == 0 ? 0 : (double) busyTotal / samples;
+            double percent = maxSessions == 0 ? 0 : average * 100 / maxSessions;
+            return String.format("слотов %d, пик %d, в среднем %.2f (%.0f%%)", maxSessions, peakBusy, average, percent);
+        }
+    }
+}
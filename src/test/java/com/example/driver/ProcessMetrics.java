@@ -0,0 +1,67 @@
+package com.example.driver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+public class ProcessMetrics {
+
+    private static final Path PROC = Paths.get("/proc");
+
+    private ProcessMetrics() {
+    }
+
+    public static boolean isSupported() {
+        return Files.isReadable(PROC.resolve("self").resolve("status"));
+    }
+
+    public static long rssBytes(long pid) {
+        try {
+            List<String> lines = Files.readAllLines(PROC.resolve(String.valueOf(pid)).resolve("status"));
+            for (String line : lines) {
+                if (line.startsWith("VmRSS:")) {
+                    String kb = line.substring("VmRSS:".length()).replace("kB", "").trim();
+                    return Long.parseLong(kb) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Процесс уже завершился или /proc недоступен
+        }
+        return 0;
+    }
+
+    // PSS делит общие страницы (библиотеки, shared memory между процессами Chrome) поровну между процессами,
+    // поэтому сумма по процессам не считает их несколько раз. smaps_rollup есть с Linux 4.14, иначе RSS
+    public static long pssBytes(long pid) {
+        try {
+            List<String> lines = Files.readAllLines(PROC.resolve(String.valueOf(pid)).resolve("smaps_rollup"));
+            for (String line : lines) {
+                if (line.startsWith("Pss:")) {
+                    String kb = line.substring("Pss:".length()).replace("kB", "").trim();
+                    return Long.parseLong(kb) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Старое ядро, процесс уже завершился или /proc недоступен
+        }
+        return rssBytes(pid);
+    }
+
+    public static long descendantsPssBytes() {
+        return ProcessHandle.current().descendants()
+                .mapToLong(process -> pssBytes(process.pid()))
+                .sum();
+    }
+
+    public static long descendantsRssBytes() {
+        return ProcessHandle.current().descendants()
+                .mapToLong(process -> rssBytes(process.pid()))
+                .sum();
+    }
+
+    public static String formatMegabytes(long bytes) {
+        return String.format("%.1f MB", bytes / 1024.0 / 1024.0);
+    }
+}
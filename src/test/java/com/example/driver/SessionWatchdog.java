@@ -0,0 +1,152 @@
+package com.example.driver;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class SessionWatchdog {
+
+    private final long probeTimeoutMillis;
+    private final long intervalMillis;
+    private final int failureThreshold;
+    private final long hungAfterMillis;
+
+    private final ExecutorService probeExecutor = Executors.newCachedThreadPool(daemon("driver-probe"));
+    private final Map<WebDriver, Integer> consecutiveFailures = new ConcurrentHashMap<>();
+    // Проверка, которая ещё стоит в очереди за командой теста: новую не отправляем, ждём эту же
+    private final Map<WebDriver, Future<String>> inFlight = new ConcurrentHashMap<>();
+    // Момент первой неудачной проверки подряд, по System.nanoTime()
+    private final Map<WebDriver, Long> failingSince = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    private final AtomicLong probes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong totalProbeNanos = new AtomicLong();
+    private final AtomicLong maxProbeNanos = new AtomicLong();
+
+    public SessionWatchdog(long probeTimeoutMillis, long intervalMillis, int failureThreshold) {
+        this(probeTimeoutMillis, intervalMillis, failureThreshold, 0);
+    }
+
+    public SessionWatchdog(long probeTimeoutMillis, long intervalMillis, int failureThreshold, long hungAfterMillis) {
+        this.probeTimeoutMillis = probeTimeoutMillis;
+        this.intervalMillis = intervalMillis;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.hungAfterMillis = hungAfterMillis;
+    }
+
+    public boolean probe(WebDriver driver) {
+        long start = System.nanoTime();
+        Future<String> handle = inFlight.compute(driver, (probed, running) ->
+                running != null && !running.isDone() ? running : probeExecutor.submit(probed::getWindowHandle));
+        boolean healthy;
+        try {
+            healthy = handle.get(probeTimeoutMillis, TimeUnit.MILLISECONDS) != null;
+        } catch (TimeoutException | ExecutionException e) {
+            // Зависшую проверку не отменяем: запрос всё равно ждёт в очереди сессии
+            healthy = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            healthy = false;
+        }
+        if (handle.isDone()) {
+            inFlight.remove(driver, handle);
+        }
+        long elapsed = System.nanoTime() - start;
+        probes.incrementAndGet();
+        totalProbeNanos.addAndGet(elapsed);
+        maxProbeNanos.accumulateAndGet(elapsed, Math::max);
+        if (!healthy) {
+            failures.incrementAndGet();
+        }
+        return healthy;
+    }
+
+    // Занятую сессию проверяем параллельно с тестом, и проверка встаёт в очередь за его командой: долгий get(),
+    // асинхронный скрипт DomWait или загрузка страницы не отвечают всё своё время. Поэтому зависшей считаем
+    // сессию, только если проверки подряд не проходят дольше hungAfterMillis — самой долгой законной команды
+    public synchronized void watch(Supplier<Collection<WebDriver>> inUse, Consumer<WebDriver> onHung) {
+        if (intervalMillis <= 0 || scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(daemon("driver-watchdog"));
+        scheduler.scheduleWithFixedDelay(() -> {
+            Collection<WebDriver> drivers = inUse.get();
+            consecutiveFailures.keySet().retainAll(drivers);
+            failingSince.keySet().retainAll(drivers);
+            inFlight.keySet().retainAll(drivers);
+            for (WebDriver driver : drivers) {
+                if (probe(driver)) {
+                    consecutiveFailures.remove(driver);
+                    failingSince.remove(driver);
+                    continue;
+                }
+                long since = failingSince.computeIfAbsent(driver, failing -> System.nanoTime());
+                if (consecutiveFailures.merge(driver, 1, Integer::sum) >= failureThreshold
+                        && System.nanoTime() - since >= TimeUnit.MILLISECONDS.toNanos(hungAfterMillis)) {
+                    consecutiveFailures.remove(driver);
+                    failingSince.remove(driver);
+                    onHung.accept(driver);
+                }
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void kill(WebDriver driver) {
+        inFlight.remove(driver);
+        if (!DriverProcesses.kill(driver)) {
+            // Процесса не знаем (например, сессия в Grid): закрываем в фоне, чтобы не повиснуть самим
+            probeExecutor.execute(() -> {
+                try {
+                    driver.quit();
+                } catch (RuntimeException e) {
+                    // Сессия уже мертва
+                }
+            });
+        }
+    }
+
+    public synchronized void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        probeExecutor.shutdownNow();
+    }
+
+    public long getProbes() {
+        return probes.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public long getTotalProbeNanos() {
+        return totalProbeNanos.get();
+    }
+
+    public long getMaxProbeNanos() {
+        return maxProbeNanos.get();
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.driver;
+
+import com.example.config.DriverConfig;
+import com.example.script.PageScripts;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+public class WarmProfileTemplate {
+
+    private static final List<String> LOCK_FILES = List.of("SingletonLock", "SingletonCookie", "SingletonSocket");
+
+    private final Path root;
+    private final Path template;
+    private final List<String> urls;
+    private final AtomicInteger clones = new AtomicInteger();
+    private final AtomicLong cloneNanosTotal = new AtomicLong();
+
+    private volatile boolean built;
+    private volatile boolean failed;
+    private volatile long buildMillis;
+
+    private static final String JVM_DIR_PREFIX = "jvm-";
+
+    // Каталог свой у каждой JVM: форки surefire и бенчмарки рядом с тестами не удаляют чужой шаблон
+    // и не делят имена session-N
+    private static class Holder {
+        private static final WarmProfileTemplate INSTANCE = new WarmProfileTemplate(
+                Paths.get(DriverConfig.getWarmProfileDir()).resolve(JVM_DIR_PREFIX + ProcessHandle.current().pid()),
+                DriverConfig.getWarmProfileUrls());
+    }
+
+    public static WarmProfileTemplate getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    WarmProfileTemplate(Path root, List<String> urls) {
+        this.root = root;
+        this.template = root.resolve("template");
+        this.urls = urls;
+    }
+
+    public Optional<Path> cloneForSession() {
+        if (!ensureBuilt()) {
+            return Optional.empty();
+        }
+        long start = System.nanoTime();
+        Path clone = root.resolve("session-" + clones.incrementAndGet());
+        try {
+            copy(template, clone);
+            cloneNanosTotal.addAndGet(System.nanoTime() - start);
+            return Optional.of(clone);
+        } catch (IOException e) {
+            System.err.println("Не удалось скопировать шаблон профиля браузера: " + e.getMessage());
+            delete(clone);
+            return Optional.empty();
+        }
+    }
+
+    public ChromeOptions withUserDataDir(ChromeOptions options, Path userDataDir) {
+        ChromeOptions copy = new ChromeOptions().merge(options);
+        copy.addArguments("--user-data-dir=" + userDataDir);
+        return copy;
+    }
+
+    public void delete(Path directory) {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            System.err.println("Не удалось удалить " + directory + ": " + e.getMessage());
+        }
+    }
+
+    public void cleanup() {
+        delete(root);
+    }
+
+    // Каталоги JVM, которые завершились, не дойдя до cleanup()
+    private void deleteOrphans() {
+        Path parent = root.toAbsolutePath().getParent();
+        if (parent == null || !Files.isDirectory(parent)) {
+            return;
+        }
+        try (Stream<Path> dirs = Files.list(parent)) {
+            dirs.filter(dir -> dir.getFileName().toString().startsWith(JVM_DIR_PREFIX))
+                    .filter(dir -> !dir.equals(root.toAbsolutePath()))
+                    .filter(dir -> !isAlive(dir.getFileName().toString().substring(JVM_DIR_PREFIX.length())))
+                    .forEach(this::delete);
+        } catch (IOException e) {
+            System.err.println("Не удалось проверить старые шаблоны профиля в " + parent + ": " + e.getMessage());
+        }
+    }
+
+    private static boolean isAlive(String pid) {
+        try {
+            return ProcessHandle.of(Long.parseLong(pid)).map(ProcessHandle::isAlive).orElse(false);
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    public String getStats() {
+        int count = clones.get();
+        return String.format("template built in %d ms, clones=%d, clone avg=%.1f ms",
+                buildMillis, count, count == 0 ? 0.0 : cloneNanosTotal.get() / 1_000_000.0 / count);
+    }
+
+    private synchronized boolean ensureBuilt() {
+        if (built || failed) {
+            return built;
+        }
+        long start = System.nanoTime();
+        deleteOrphans();
+        delete(template);
+        WebDriver driver = null;
+        try {
+            Files.createDirectories(template);
+            ChromeOptions options = withUserDataDir(
+                    BrowserProfile.FAST_HEADLESS.chromeOptions(DriverConfig.getDownloadDir()), template);
+            driver = DriverFactory.createDriver(DriverFactory.BrowserType.CHROME, options);
+            for (String url : urls) {
+                driver.get(url);
+                PageScripts scripts = new PageScripts(driver);
+                new WebDriverWait(driver, Duration.ofSeconds(30)).until(loaded -> scripts.isDocumentComplete());
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Шаблон профиля браузера не собран, сессии стартуют с холодным кешем: " + e.getMessage());
+            failed = true;
+            return false;
+        } finally {
+            // Кеш на диск Chrome дописывает при закрытии, копировать шаблон можно только после quit()
+            if (driver != null) {
+                driver.quit();
+            }
+        }
+        for (String lock : LOCK_FILES) {
+            try {
+                Files.deleteIfExists(template.resolve(lock));
+            } catch (IOException e) {
+                // Chrome уже удалил
+            }
+        }
+        buildMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        built = true;
+        return true;
+    }
+
+    // Хардлинки не подходят: Chrome дописывает файлы кеша на месте и испортил бы шаблон и соседние сессии.
+    // Поэтому copy-on-write там, где ФС это умеет (btrfs, XFS), и обычное копирование в остальных случаях
+    private void copy(Path source, Path target) throws IOException {
+        try {
+            Process process = new ProcessBuilder("cp", "-a", "--reflink=auto", source.toString(), target.toString())
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            if (process.waitFor(60, TimeUnit.SECONDS) && process.exitValue() == 0) {
+                return;
+            }
+            process.destroyForcibly();
+        } catch (IOException e) {
+            // cp нет (Windows) — копируем сами
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Копирование шаблона профиля прервано", e);
+        }
+        delete(target);
+        Files.walkFileTree(source, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir)));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.copy(file, target.resolve(source.relativize(file)),
+                        StandardCopyOption.COPY_ATTRIBUTES, LinkOption.NOFOLLOW_LINKS);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
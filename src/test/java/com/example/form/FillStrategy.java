@@ -0,0 +1,8 @@
+package com.example.form;
+
+public enum FillStrategy {
+    // Значения выставляются скриптом с событиями input, change и blur; поля, где это невозможно, вводятся с клавиатуры
+    NATIVE,
+    // clear() и sendKeys() на каждое поле, как при ручном вводе
+    KEYSTROKES
+}
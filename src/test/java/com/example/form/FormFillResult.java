@@ -0,0 +1,25 @@
+package com.example.form;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class FormFillResult {
+
+    String form;
+    FillStrategy strategy;
+    int fields;
+    List<String> keystrokeFields;
+    long elapsedNanos;
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [%s]: %d полей за %.1f ms, с клавиатуры: %s",
+                form, strategy, fields, getElapsedMillis(), keystrokeFields.isEmpty() ? "нет" : keystrokeFields);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.form;
+
+import com.example.binding.BrowserLocators;
+import com.example.binding.ElementCache;
+import com.example.script.PinnedScripts;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.Select;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public final class FormFiller {
+
+    private static final String SCRIPT = BrowserLocators.script("/scripts/form-fill.js");
+
+    private FormFiller() {
+    }
+
+    // values: имя @FindBy-поля страницы -> значение; для select — value или текст опции, для checkbox и radio — true/false
+    @SuppressWarnings("unchecked")
+    public static FormFillResult fill(WebDriver driver, String form, Map<String, By> locators,
+                                      Map<String, String> values, FillStrategy strategy) {
+        long start = System.nanoTime();
+        List<String> keystrokes = new ArrayList<>();
+        if (strategy == FillStrategy.KEYSTROKES) {
+            keystrokes.addAll(values.keySet());
+        } else {
+            List<Map<String, Object>> specs = new ArrayList<>(values.size());
+            values.forEach((name, value) -> {
+                Map<String, Object> spec = BrowserLocators.spec(driver, name, locator(locators, name));
+                spec.put("fill", value);
+                specs.add(spec);
+            });
+            Map<String, Object> outcome = (Map<String, Object>) PinnedScripts.execute(driver, SCRIPT, specs);
+            for (String name : values.keySet()) {
+                Object result = outcome.get(name);
+                if ("missing".equals(result)) {
+                    throw new NoSuchElementException("Поле формы " + form + " не найдено: " + name);
+                }
+                if ("uncheckRadio".equals(result)) {
+                    throw uncheckRadio(form, name);
+                }
+                if (!"native".equals(result)) {
+                    keystrokes.add(name);
+                }
+            }
+        }
+
+        ElementCache elements = new ElementCache(driver);
+        for (String name : keystrokes) {
+            type(form, name, elements.element(locator(locators, name), false), values.get(name));
+        }
+        return new FormFillResult(form, strategy, values.size(),
+                Collections.unmodifiableList(keystrokes), System.nanoTime() - start);
+    }
+
+    private static By locator(Map<String, By> locators, String name) {
+        By by = locators.get(name);
+        if (by == null) {
+            throw new IllegalArgumentException("Поле не описано на странице: " + name);
+        }
+        return by;
+    }
+
+    private static IllegalArgumentException uncheckRadio(String form, String name) {
+        return new IllegalArgumentException("Radio " + form + "." + name
+                + " выбран, и снять выбор нельзя: выберите другой вариант группы");
+    }
+
+    private static void type(String form, String name, WebElement element, String value) {
+        String type = element.getAttribute("type");
+        if ("select".equalsIgnoreCase(element.getTagName())) {
+            Select select = new Select(element);
+            try {
+                select.selectByValue(value);
+            } catch (NoSuchElementException e) {
+                select.selectByVisibleText(value);
+            }
+        } else if ("checkbox".equals(type) || "radio".equals(type)) {
+            boolean wanted = Boolean.parseBoolean(value);
+            if ("radio".equals(type) && !wanted && element.isSelected()) {
+                throw uncheckRadio(form, name);
+            }
+            if (element.isSelected() != wanted) {
+                element.click();
+            }
+        } else if ("file".equals(type)) {
+            element.sendKeys(value);
+        } else {
+            element.clear();
+            element.sendKeys(value);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.listeners;
+
+import com.example.config.DriverConfig;
+import com.example.driver.DriverContext;
+import com.example.driver.DriverFactory;
+import com.example.manager.PageManager;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+public class DriverExtension implements BeforeEachCallback, AfterEachCallback, ParameterResolver {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(DriverExtension.class);
+    private static final String DRIVER_KEY = "driver";
+    public static final String BROWSER_PARAMETER = "driver.browser";
+
+    public static boolean isRegisteredOn(Class<?> testClass) {
+        for (Class<?> current = testClass; current != null; current = current.getEnclosingClass()) {
+            boolean found = AnnotationSupport.findRepeatableAnnotations(current, ExtendWith.class).stream()
+                    .flatMap(extendWith -> Arrays.stream(extendWith.value()))
+                    .anyMatch(DriverExtension.class::equals);
+            if (found) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Браузер задаётся параметром запуска, так матричный прогон гоняет одни и те же классы в разных браузерах
+    public static DriverFactory.BrowserType browserFor(Function<String, Optional<String>> configurationParameters) {
+        return configurationParameters.apply(BROWSER_PARAMETER)
+                .map(name -> DriverFactory.BrowserType.valueOf(name.trim().toUpperCase()))
+                .orElseGet(DriverConfig::getBrowser);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        WebDriver driver = DriverFactory.borrowDriver(browserFor(context::getConfigurationParameter));
+        context.getStore(NAMESPACE).put(DRIVER_KEY, driver);
+        DriverContext.bind(driver);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        WebDriver driver = context.getStore(NAMESPACE).remove(DRIVER_KEY, WebDriver.class);
+        DriverContext.unbind();
+        if (driver != null) {
+            DriverFactory.releaseDriver(driver);
+        }
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        Class<?> type = parameterContext.getParameter().getType();
+        return parameterContext.getDeclaringExecutable() instanceof Method
+                && (type == WebDriver.class || type == PageManager.class);
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        Class<?> type = parameterContext.getParameter().getType();
+        if (type == PageManager.class) {
+            return DriverContext.getPageManager();
+        }
+        return DriverContext.getDriver();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.listeners;
+
+import com.example.config.DriverConfig;
+import com.example.driver.DriverFactory;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DriverPrefetchListener implements TestExecutionListener {
+
+    private final AtomicInteger remainingUiTests = new AtomicInteger();
+    private volatile DriverFactory.BrowserType browser;
+    private volatile boolean active;
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        DriverFactory.reapLeakedProcesses();
+
+        browser = DriverExtension.browserFor(testPlan.getConfigurationParameters()::get);
+        int ahead = DriverConfig.getPrefetchAhead();
+        int demand = (int) testPlan.getRoots().stream()
+                .flatMap(root -> testPlan.getDescendants(root).stream())
+                .filter(this::isUiTest)
+                .count();
+
+        remainingUiTests.set(demand);
+        active = ahead > 0 && demand > 0;
+        if (active) {
+            int started = DriverFactory.prewarmDrivers(browser, Math.min(ahead, demand));
+            System.out.println("Предзапуск WebDriver: UI тестов в плане " + demand
+                    + ", запущено сессий заранее " + started);
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        if (!active || !isUiTest(testIdentifier)) {
+            return;
+        }
+        int remaining = remainingUiTests.decrementAndGet();
+        if (remaining > 0) {
+            DriverFactory.prewarmDrivers(browser, Math.min(DriverConfig.getPrefetchAhead(), remaining));
+        }
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (active) {
+            System.out.println("Предзапуск WebDriver: " + DriverFactory.getPoolStats(browser));
+        }
+    }
+
+    private boolean isUiTest(TestIdentifier testIdentifier) {
+        if (!testIdentifier.isTest()) {
+            return false;
+        }
+        return testIdentifier.getSource()
+                .flatMap(DriverPrefetchListener::javaClass)
+                .map(DriverExtension::isRegisteredOn)
+                .orElse(false);
+    }
+
+    private static Optional<Class<?>> javaClass(TestSource source) {
+        try {
+            if (source instanceof MethodSource) {
+                return Optional.of(((MethodSource) source).getJavaClass());
+            }
+            if (source instanceof ClassSource) {
+                return Optional.of(((ClassSource) source).getJavaClass());
+            }
+        } catch (RuntimeException e) {
+            // Класс не загружается в этом classloader'е
+        }
+        return Optional.empty();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.listeners;
 
+import com.example.driver.DriverContext;
 import com.example.pages.BasePage;
 import io.qameta.allure.Attachment;
 import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
@@ -18,7 +19,9 @@ public class TestListener implements AfterTestExecutionCallback {
             Object testInstance = context.getTestInstance().orElse(null);
             if (testInstance != null) {
                 try {
-                    WebDriver driver = getDriverFromTestInstance(testInstance);
+                    WebDriver driver = DriverContext.isBound()
+                            ? DriverContext.getDriver()
+                            : getDriverFromTestInstance(testInstance);
                     if (driver != null) {
                         byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
                         attachScreenshot(screenshot, context.getDisplayName());
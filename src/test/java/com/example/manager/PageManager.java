@@ -1,66 +1,100 @@
 package com.example.manager;
 
+import com.example.binding.DomGeneration;
+import com.example.driver.DriverFactory;
 import com.example.pages.*;
+import com.example.script.PinnedScripts;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
 
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+
+// Страницы создаются по типу и живут, пока драйвер остаётся на том же документе.
+// Экземпляр привязан к потоку своего драйвера (см. DriverContext), поэтому без синхронизации
 public class PageManager {
 
-    private WebDriver driver;
-    private MainPage mainPage;
-    private LoginPage loginPage;
-    private WebFormPage webFormPage;
-    private DownloadPage downloadPage;
+    // Метка на объекте document: у нового документа её нет, поэтому метка меняется вместе с документом.
+    // URL добавлен, чтобы учитывать и переходы внутри документа (history.pushState, #anchor)
+    private static final String DOCUMENT_TOKEN_SCRIPT = "if (!document.__pageManagerToken) {"
+            + " document.__pageManagerToken = Date.now() + ':' + Math.random(); }"
+            + " return document.__pageManagerToken + ' ' + location.href;";
+
+    private final WebDriver driver;
+    private final WebDriver pageDriver;
+    private final Thread owner = Thread.currentThread();
+    private final Map<Class<?>, BasePage> pages = new HashMap<>();
+    private boolean navigated;
+    private boolean mayHaveNavigated;
+    private String document;
 
     public PageManager(WebDriver driver) {
         this.driver = driver;
+        // Страницы работают через обёртку, чтобы видеть навигацию; в пул возвращается исходный драйвер
+        this.pageDriver = new EventFiringDecorator<>(new NavigationListener()).decorate(driver);
     }
 
-    public DownloadPage getDownloadPage() {
-        if (downloadPage == null) {
-            downloadPage = new DownloadPage(driver);
+    public <T extends BasePage> T on(Class<T> pageType) {
+        checkOwner();
+        syncWithDocument();
+        BasePage page = pages.get(pageType);
+        if (page == null) {
+            if (document == null) {
+                document = documentToken();
+            }
+            page = create(pageType);
+            pages.put(pageType, page);
         }
-        return downloadPage;
+        return pageType.cast(page);
+    }
+
+    public <T extends BasePage> T open(Class<T> pageType, String url) {
+        pageDriver.get(url);
+        return on(pageType);
+    }
+
+    public DownloadPage getDownloadPage() {
+        return on(DownloadPage.class);
     }
 
     public void openDownloadPage(String url) {
-        driver.get(url);
-        getDownloadPage();
+        open(DownloadPage.class, url);
     }
 
     public MainPage getMainPage() {
-        if (mainPage == null) {
-            mainPage = new MainPage(driver);
-        }
-        return mainPage;
+        return on(MainPage.class);
     }
 
     public LoginPage getLoginPage() {
-        if (loginPage == null) {
-            loginPage = new LoginPage(driver);
-        }
-        return loginPage;
+        return on(LoginPage.class);
     }
 
     public WebFormPage getWebFormPage() {
-        if (webFormPage == null) {
-            webFormPage = new WebFormPage(driver);
-        }
-        return webFormPage;
+        return on(WebFormPage.class);
     }
 
     public void openMainPage(String url) {
-        driver.get(url);
-        getMainPage();
+        open(MainPage.class, url);
     }
 
     public void openLoginPage(String url) {
-        driver.get(url);
-        getLoginPage();
+        open(LoginPage.class, url);
     }
 
     public void openWebFormPage(String url) {
-        driver.get(url);
-        getWebFormPage();
+        open(WebFormPage.class, url);
+    }
+
+    public WebDriver getDriver() {
+        return pageDriver;
+    }
+
+    public void release() {
+        DriverFactory.releaseDriver(driver);
     }
 
     public void quit() {
@@ -68,4 +102,93 @@ public class PageManager {
             driver.quit();
         }
     }
-}
\ No newline at end of file
+
+    private void syncWithDocument() {
+        if (navigated) {
+            navigated = false;
+            mayHaveNavigated = false;
+            invalidate();
+            return;
+        }
+        if (mayHaveNavigated) {
+            // Клик или submit мог увести на другую страницу: проверяем один раз, а не при каждом обращении
+            mayHaveNavigated = false;
+            String current = documentToken();
+            if (document != null && !document.equals(current)) {
+                invalidate();
+            }
+            document = current;
+        }
+    }
+
+    private void invalidate() {
+        pages.clear();
+        document = null;
+        DomGeneration.advance(pageDriver);
+    }
+
+    private String documentToken() {
+        return String.valueOf(PinnedScripts.execute(driver, DOCUMENT_TOKEN_SCRIPT));
+    }
+
+    private BasePage create(Class<? extends BasePage> pageType) {
+        try {
+            return pageType.getConstructor(WebDriver.class).newInstance(pageDriver);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Не удалось создать страницу " + pageType.getSimpleName(), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("У страницы " + pageType.getSimpleName()
+                    + " нет публичного конструктора (WebDriver)", e);
+        }
+    }
+
+    private void checkOwner() {
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException("PageManager потока " + owner.getName()
+                    + " вызван из потока " + Thread.currentThread().getName());
+        }
+    }
+
+    private class NavigationListener implements WebDriverListener {
+
+        @Override
+        public void afterGet(WebDriver driver, String url) {
+            navigated = true;
+        }
+
+        @Override
+        public void afterTo(WebDriver.Navigation navigation, String url) {
+            navigated = true;
+        }
+
+        @Override
+        public void afterTo(WebDriver.Navigation navigation, URL url) {
+            navigated = true;
+        }
+
+        @Override
+        public void afterBack(WebDriver.Navigation navigation) {
+            navigated = true;
+        }
+
+        @Override
+        public void afterForward(WebDriver.Navigation navigation) {
+            navigated = true;
+        }
+
+        @Override
+        public void afterRefresh(WebDriver.Navigation navigation) {
+            navigated = true;
+        }
+
+        @Override
+        public void afterClick(WebElement element) {
+            mayHaveNavigated = true;
+        }
+
+        @Override
+        public void afterSubmit(WebElement element) {
+            mayHaveNavigated = true;
+        }
+    }
+}
@@ -1,40 +1,86 @@
 package com.example.pages;
 
+import com.example.binding.PageBinding;
 import com.example.components.Footer;
 import com.example.components.Header;
+import com.example.components.LazyComponent;
+import com.example.form.FillStrategy;
+import com.example.form.FormFillResult;
+import com.example.form.FormFiller;
+import com.example.snapshot.PageSnapshot;
+import com.example.snapshot.PageSnapshots;
+import com.example.snapshot.PageVerification;
+import com.example.wait.DomWait;
+import org.openqa.selenium.By;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.support.PageFactory;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Map;
+import java.util.function.Function;
 
 public abstract class BasePage {
     public WebDriver driver;
 
-    private Header header;
-    private Footer footer;
+    private final LazyComponent<Header> header = component(Header::new);
+    private final LazyComponent<Footer> footer = component(Footer::new);
 
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        PageFactory.initElements(driver, this);
-        this.header = new Header(driver);
-        this.footer = new Footer(driver);
+        PageBinding.bind(this, driver);
+    }
+
+    // Компонент создаётся при первом обращении, так что стоимость конструктора не зависит от их числа
+    protected <T> LazyComponent<T> component(Function<WebDriver, T> factory) {
+        return new LazyComponent<>(() -> factory.apply(driver));
     }
 
     public Header getHeader() {
-        return header;
+        return header.get();
     }
 
     public Footer getFooter() {
-        return footer;
+        return footer.get();
     }
 
     public abstract boolean isPageLoaded();
 
+    // Состояние всех @FindBy-элементов страницы за один запрос к драйверу; attributes — дополнительные атрибуты
+    public PageSnapshot snapshot(String... attributes) {
+        return PageSnapshots.capture(driver, PageBinding.locators(getClass()), attributes);
+    }
+
+    // Набор проверок, которые сверяются с одним снимком и сообщают обо всех расхождениях сразу
+    public PageVerification verify() {
+        return new PageVerification(getClass().getSimpleName(), this::snapshot);
+    }
+
+    protected DomWait waits() {
+        return new DomWait(driver);
+    }
+
+    // Локатор @FindBy-поля страницы, например для ожиданий
+    protected By locator(String field) {
+        By by = PageBinding.locators(getClass()).get(field);
+        if (by == null) {
+            throw new IllegalArgumentException("Поле не описано на странице: " + field);
+        }
+        return by;
+    }
+
+    // Заполнение полей страницы по именам @FindBy-полей одним executeScript
+    public FormFillResult fill(Map<String, String> values) {
+        return fill(values, FillStrategy.NATIVE);
+    }
+
+    public FormFillResult fill(Map<String, String> values, FillStrategy strategy) {
+        return FormFiller.fill(driver, getClass().getSimpleName(), PageBinding.locators(getClass()), values, strategy);
+    }
+
     public byte[] takeScreenshot() {
         return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
     }
@@ -1,5 +1,7 @@
 package com.example.pages;
 
+import com.example.config.DriverConfig;
+import com.example.download.DownloadMonitor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
@@ -8,20 +10,21 @@ import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 
 public class DownloadPage extends BasePage {
 
     @FindBy(xpath = "//a[contains(@href, 'webdrivermanager.png') and contains(text(), 'logo')]")
-    private WebElement webDriverManagerLogoBtn;
+    WebElement webDriverManagerLogoBtn;
 
     @FindBy(xpath = "//a[contains(@href, 'webdrivermanager.pdf') and contains(text(), 'doc')]")
-    private WebElement webDriverManagerDocBtn;
+    WebElement webDriverManagerDocBtn;
 
     @FindBy(xpath = "//a[contains(@href, 'selenium-jupiter.png') and contains(text(), 'logo')]")
-    private WebElement seleniumJupiterLogoBtn;
+    WebElement seleniumJupiterLogoBtn;
 
     @FindBy(xpath = "//a[contains(@href, 'selenium-jupiter.pdf') and contains(text(), 'doc')]")
-    private WebElement seleniumJupiterDocBtn;
+    WebElement seleniumJupiterDocBtn;
 
     public DownloadPage(WebDriver driver) {
         super(driver);
@@ -48,64 +51,25 @@ public class DownloadPage extends BasePage {
         seleniumJupiterDocBtn.click();
     }
 
-    public void waitForFileDownload(String fileName, long timeoutMillis) throws InterruptedException {
-        long startTime = System.currentTimeMillis();
-        String downloadPath = System.getProperty("user.home") + "/Downloads/";
-        Path filePath = Paths.get(downloadPath, fileName);
-
-        while (System.currentTimeMillis() - startTime < timeoutMillis) {
-            if (Files.exists(filePath)) {
-                try {
-                    // Проверяем что файл полностью загружен (перестал меняться размер)
-                    long size1 = Files.size(filePath);
-                    Thread.sleep(1000);
-                    long size2 = Files.size(filePath);
-
-                    if (size1 == size2 && size1 > 0) {
-                        return;
-                    }
-                } catch (Exception e) {
-                    Thread.sleep(500);
-                }
-            }
-            Thread.sleep(500);
+    public void waitForFileDownload(String fileName, long timeoutMillis) {
+        try (DownloadMonitor downloads = new DownloadMonitor(getDownloadDirectory())) {
+            downloads.await(fileName, Duration.ofMillis(timeoutMillis));
         }
-
-        throw new RuntimeException("Файл " + fileName + " не загрузился за " + timeoutMillis + " мс");
     }
 
     public boolean isFileDownloaded(String fileName, long timeoutMillis) {
-        long startTime = System.currentTimeMillis();
-        String downloadPath = System.getProperty("user.home") + "/Downloads/";
-        Path filePath = Paths.get(downloadPath, fileName);
-
-        while (System.currentTimeMillis() - startTime < timeoutMillis) {
-            if (Files.exists(filePath)) {
-                try {
-                    long size1 = Files.size(filePath);
-                    Thread.sleep(1000);
-                    long size2 = Files.size(filePath);
-
-                    if (size1 == size2 && size1 > 0) {
-                        return true;
-                    }
-                } catch (Exception e) {
-                    // Игнорируем ошибки и продолжаем проверку
-                }
-            }
-            try {
-                Thread.sleep(500);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                return false;
-            }
+        try (DownloadMonitor downloads = new DownloadMonitor(getDownloadDirectory())) {
+            return downloads.isDownloaded(fileName, Duration.ofMillis(timeoutMillis));
         }
-        return false;
+    }
+
+    // Туда же пишет браузер с профилем BrowserProfile.DOWNLOAD
+    public Path getDownloadDirectory() {
+        return Paths.get(DriverConfig.getDownloadDir());
     }
 
     public Path getDownloadedFilePath(String fileName) {
-        String downloadPath = System.getProperty("user.home") + "/Downloads/";
-        return Paths.get(downloadPath, fileName);
+        return getDownloadDirectory().resolve(fileName);
     }
 
     public boolean fileExists(String fileName) {
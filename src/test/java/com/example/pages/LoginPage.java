@@ -4,21 +4,23 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class LoginPage extends BasePage {
 
     @FindBy(id = "username")
-    private WebElement usernameInput;
+    WebElement usernameInput;
 
     @FindBy(id = "password")
-    private WebElement passwordInput;
+    WebElement passwordInput;
 
     @FindBy(css = ".btn.btn-outline-primary.mt-2")
-    private WebElement submitButton;
+    WebElement submitButton;
 
     @FindBy(id = "invalid")
-    private WebElement errorMessage;
+    WebElement errorMessage;
 
     public LoginPage(WebDriver driver) {
         super(driver);
@@ -51,9 +53,12 @@ public class LoginPage extends BasePage {
         return errorMessage.isDisplayed();
     }
 
+    public void waitForErrorMessage() {
+        waits().visible(locator("errorMessage"));
+    }
+
     public void loginWithCredentials(String username, String password) {
-        enterUsername(username);
-        enterPassword(password);
+        fill(Map.of("usernameInput", username, "passwordInput", password));
         submitForm();
     }
 
@@ -7,10 +7,10 @@ import org.openqa.selenium.support.FindBy;
 public class MainPage extends BasePage {
 
     @FindBy(tagName = "h1")
-    private WebElement title;
+    WebElement title;
 
     @FindBy(linkText = "Practice site")
-    private WebElement practiceSiteLink;
+    WebElement practiceSiteLink;
 
     public MainPage(WebDriver driver) {
         super(driver);
@@ -0,0 +1,32 @@
+package com.example.pages;
+
+import com.example.binding.ShadowPath;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+
+public class ShadowDomPage extends BasePage {
+
+    @FindBy(id = "content")
+    WebElement shadowHost;
+
+    @ShadowPath({"#content", "p"})
+    WebElement shadowText;
+
+    public ShadowDomPage(WebDriver driver) {
+        super(driver);
+    }
+
+    @Override
+    public boolean isPageLoaded() {
+        return shadowHost.isDisplayed();
+    }
+
+    public WebElement getShadowText() {
+        return shadowText;
+    }
+
+    public String getShadowTextValue() {
+        return shadowText.getText();
+    }
+}
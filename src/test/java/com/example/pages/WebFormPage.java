@@ -7,42 +7,40 @@ import org.openqa.selenium.support.ui.Select;
 
 import java.io.File;
 
-import static org.junit.jupiter.api.Assertions.*;
-
 public class WebFormPage extends BasePage {
 
     @FindBy(id = "my-text-id")
-    private WebElement textInput;
+    WebElement textInput;
 
     @FindBy(name = "my-password")
-    private WebElement passwordInput;
+    WebElement passwordInput;
 
     @FindBy(name = "my-textarea")
-    private WebElement textarea;
+    WebElement textarea;
 
     @FindBy(name = "my-disabled")
-    private WebElement disabledInput;
+    WebElement disabledInput;
 
     @FindBy(name = "my-readonly")
-    private WebElement readonlyInput;
+    WebElement readonlyInput;
 
     @FindBy(name = "my-select")
-    private WebElement selectElement;
+    WebElement selectElement;
 
     @FindBy(name = "my-datalist")
-    private WebElement datalistInput;
+    WebElement datalistInput;
 
     @FindBy(name = "my-file")
-    private WebElement fileInput;
+    WebElement fileInput;
 
     @FindBy(id = "my-check-2")
-    private WebElement checkbox;
+    WebElement checkbox;
 
     @FindBy(id = "my-radio-2")
-    private WebElement radioButton;
+    WebElement radioButton;
 
     @FindBy(xpath = "//button[text()='Submit']")
-    private WebElement submitButton;
+    WebElement submitButton;
 
     public WebFormPage(WebDriver driver) {
         super(driver);
@@ -143,57 +141,72 @@ public class WebFormPage extends BasePage {
         submitButton.click();
     }
 
+    public void waitForSubmission() {
+        waits().urlContains("submitted");
+    }
+
     public void verifyTextInput(String expectedText) {
-        assertEquals(expectedText, getTextInputValue(),
-                "Текст в поле не соответствует ожидаемому");
+        verify().value("textInput", expectedText, "Текст в поле не соответствует ожидаемому")
+                .assertAll();
     }
 
     public void verifyPasswordField() {
-        assertEquals("password", getPasswordType(),
-                "Поле должно быть типа password");
+        verify().attribute("passwordInput", "type", "password", "Поле должно быть типа password")
+                .assertAll();
     }
 
     public void verifyTextarea(String expectedText) {
-        assertEquals(expectedText, getTextareaValue(),
-                "Текст в textarea не соответствует ожидаемому");
+        verify().value("textarea", expectedText, "Текст в textarea не соответствует ожидаемому")
+                .assertAll();
     }
 
     public void verifyDisabledInput() {
-        assertFalse(isDisabledInputEnabled(),
-                "Поле должно быть disabled");
-        assertEquals("Disabled input", getDisabledInputPlaceholder(),
-                "Placeholder не соответствует ожидаемому");
+        verify().enabled("disabledInput", false, "Поле должно быть disabled")
+                .attribute("disabledInput", "placeholder", "Disabled input", "Placeholder не соответствует ожидаемому")
+                .assertAll();
     }
 
     public void verifyReadonlyInput() {
-        assertFalse(isReadonlyInputEditable(),
-                "Поле должно быть readonly");
-        assertEquals("Readonly input", getReadonlyInputValue(),
-                "Значение поля не соответствует ожидаемому");
+        verify().attributePresent("readonlyInput", "readonly", "Поле должно быть readonly")
+                .value("readonlyInput", "Readonly input", "Значение поля не соответствует ожидаемому")
+                .assertAll();
     }
 
     public void verifyDropdownSelection(String expectedOption) {
-        assertEquals(expectedOption, getSelectedDropdownOption(),
-                "Выбранная опция в dropdown не соответствует ожидаемой");
+        verify().selectedOption("selectElement", expectedOption, "Выбранная опция в dropdown не соответствует ожидаемой")
+                .assertAll();
     }
 
     public void verifyDatalistValue(String expectedValue) {
-        assertEquals(expectedValue, getDatalistValue(),
-                "Значение в datalist не соответствует ожидаемому");
+        verify().value("datalistInput", expectedValue, "Значение в datalist не соответствует ожидаемому")
+                .assertAll();
     }
 
     public void verifyFileUpload() {
-        assertTrue(isFileSelected(),
-                "Файл не был выбран");
+        verify().notEmpty("fileInput", "Файл не был выбран")
+                .assertAll();
     }
 
     public void verifyCheckboxToggled(boolean initialState) {
-        assertNotEquals(initialState, isCheckboxSelected(),
-                "Состояние чекбокса не изменилось после клика");
+        verify().selected("checkbox", !initialState, "Состояние чекбокса не изменилось после клика")
+                .assertAll();
     }
 
     public void verifyRadioButtonSelected() {
-        assertTrue(isRadioButtonSelected(),
-                "Radio button должен быть выбран");
-    }
-}
\ No newline at end of file
+        verify().selected("radioButton", true, "Radio button должен быть выбран")
+                .assertAll();
+    }
+
+    // Исходное состояние формы целиком: все расхождения в одном отчёте
+    public void verifyDefaults() {
+        verify().value("textInput", "", "Текстовое поле должно быть пустым")
+                .attribute("passwordInput", "type", "password", "Поле должно быть типа password")
+                .enabled("disabledInput", false, "Поле должно быть disabled")
+                .attribute("disabledInput", "placeholder", "Disabled input", "Placeholder не соответствует ожидаемому")
+                .attributePresent("readonlyInput", "readonly", "Поле должно быть readonly")
+                .value("readonlyInput", "Readonly input", "Значение поля не соответствует ожидаемому")
+                .selected("checkbox", false, "Второй чекбокс не должен быть выбран")
+                .selected("radioButton", false, "Второй radio button не должен быть выбран")
+                .assertAll();
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.runner;
+
+import com.example.config.DriverConfig;
+import com.example.driver.DriverFactory;
+import com.example.listeners.DriverExtension;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectPackage;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+@Tag("matrix")
+public class BrowserMatrixRun {
+
+    private static final String BASE_PACKAGE = "com.example";
+
+    @Test
+    public void runUiClassesInEveryBrowser() throws InterruptedException {
+        List<DriverFactory.BrowserType> browsers = DriverConfig.getMatrixBrowsers();
+        List<Class<?>> uiClasses = discoverUiClasses();
+        assertFalse(uiClasses.isEmpty(), "Не найдено UI классов с DriverExtension в " + BASE_PACKAGE);
+
+        // Общий планировщик на все браузеры, пулы драйверов при этом у каждого браузера свои
+        ExecutorService scheduler = Executors.newFixedThreadPool(DriverConfig.getMatrixThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "browser-matrix");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        List<Future<Cell>> futures = new ArrayList<>();
+        for (Class<?> testClass : uiClasses) {
+            // Браузеры чередуются в очереди, чтобы шли одновременно, а не один за другим
+            for (DriverFactory.BrowserType browser : browsers) {
+                futures.add(scheduler.submit(() -> runCell(testClass, browser)));
+            }
+        }
+
+        List<Cell> cells = new ArrayList<>();
+        try {
+            for (Future<Cell> future : futures) {
+                cells.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Матричный прогон упал", e.getCause());
+        } finally {
+            scheduler.shutdownNow();
+        }
+        long wallMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        String report = report(browsers, cells, wallMillis);
+        System.out.println(report);
+        Allure.addAttachment("Матрица браузеров", "text/plain", report);
+
+        long failed = cells.stream().mapToLong(cell -> cell.failed).sum();
+        assertEquals(0, failed, "Есть упавшие тесты в матричном прогоне, подробности в отчёте");
+    }
+
+    private List<Class<?>> discoverUiClasses() {
+        LauncherDiscoveryRequest discovery = request()
+                .selectors(selectPackage(BASE_PACKAGE))
+                .build();
+        TestPlan plan = LauncherFactory.create().discover(discovery);
+
+        Set<Class<?>> classes = new LinkedHashSet<>();
+        plan.getRoots().stream()
+                .flatMap(root -> plan.getDescendants(root).stream())
+                .forEach(identifier -> identifier.getSource()
+                        .filter(ClassSource.class::isInstance)
+                        .map(source -> ((ClassSource) source).getJavaClass())
+                        .filter(DriverExtension::isRegisteredOn)
+                        .ifPresent(classes::add));
+        return new ArrayList<>(classes);
+    }
+
+    private Cell runCell(Class<?> testClass, DriverFactory.BrowserType browser) {
+        LauncherDiscoveryRequest cellRequest = request()
+                .selectors(selectClass(testClass))
+                .configurationParameter(DriverExtension.BROWSER_PARAMETER, browser.name())
+                // Параллелизмом управляет планировщик матрицы, внутри ячейки тесты идут последовательно
+                .configurationParameter("junit.jupiter.execution.parallel.enabled", "false")
+                .build();
+
+        Launcher launcher = LauncherFactory.create();
+        SummaryGeneratingListener listener = new SummaryGeneratingListener();
+        long start = System.nanoTime();
+        launcher.execute(cellRequest, listener);
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        TestExecutionSummary summary = listener.getSummary();
+        return new Cell(testClass, browser, millis, summary.getTestsSucceededCount(),
+                summary.getTestsFailedCount() + summary.getTestsAbortedCount());
+    }
+
+    private String report(List<DriverFactory.BrowserType> browsers, List<Cell> cells, long wallMillis) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Матричный прогон: %d классов x %d браузеров за %d ms%n",
+                cells.size() / Math.max(1, browsers.size()), browsers.size(), wallMillis));
+
+        report.append(String.format("%-40s", "Класс"));
+        browsers.forEach(browser -> report.append(String.format("%20s", browser)));
+        report.append(System.lineSeparator());
+
+        Map<Class<?>, Map<DriverFactory.BrowserType, Cell>> byClass = new LinkedHashMap<>();
+        for (Cell cell : cells) {
+            byClass.computeIfAbsent(cell.testClass, key -> new EnumMap<>(DriverFactory.BrowserType.class))
+                    .put(cell.browser, cell);
+        }
+        byClass.forEach((testClass, row) -> {
+            report.append(String.format("%-40s", testClass.getSimpleName()));
+            browsers.forEach(browser -> report.append(String.format("%20s", row.get(browser))));
+            report.append(System.lineSeparator());
+        });
+
+        for (DriverFactory.BrowserType browser : browsers) {
+            long total = 0;
+            long passed = 0;
+            long failed = 0;
+            for (Cell cell : cells) {
+                if (cell.browser == browser) {
+                    total += cell.millis;
+                    passed += cell.passed;
+                    failed += cell.failed;
+                }
+            }
+            long tests = passed + failed;
+            report.append(String.format("%s: суммарно %d ms, тестов %d (упало %d), в среднем %.0f ms на тест, пул: %s%n",
+                    browser, total, tests, failed, tests == 0 ? 0.0 : (double) total / tests,
+                    DriverFactory.getPoolStats(browser)));
+        }
+        return report.toString();
+    }
+
+    private static class Cell {
+        private final Class<?> testClass;
+        private final DriverFactory.BrowserType browser;
+        private final long millis;
+        private final long passed;
+        private final long failed;
+
+        private Cell(Class<?> testClass, DriverFactory.BrowserType browser, long millis, long passed, long failed) {
+            this.testClass = testClass;
+            this.browser = browser;
+            this.millis = millis;
+            this.passed = passed;
+            this.failed = failed;
+        }
+
+        @Override
+        public String toString() {
+            return millis + " ms " + passed + "/" + (passed + failed);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.script;
+
+import org.openqa.selenium.WebDriver;
+
+// Типизированные обёртки над часто выполняемыми скриптами; все они идут через PinnedScripts
+public class PageScripts {
+
+    private static final String READY_STATE = "return document.readyState;";
+
+    private final WebDriver driver;
+
+    public PageScripts(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    public String readyState() {
+        return (String) PinnedScripts.execute(driver, READY_STATE);
+    }
+
+    public boolean isDocumentComplete() {
+        return "complete".equals(readyState());
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.script;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class PinnedScriptStats {
+
+    long pinned;
+    long calls;
+    long fallbacks;
+    long savedBytes;
+
+    @Override
+    public String toString() {
+        return String.format("pinned=%d, calls=%d, fallbacks=%d, не отправлено %.1f KB исходников",
+                pinned, calls, fallbacks, savedBytes / 1024.0);
+    }
+}
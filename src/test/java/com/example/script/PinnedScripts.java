@@ -0,0 +1,109 @@
+package com.example.script;
+
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptKey;
+import org.openqa.selenium.UnpinnedScriptKey;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Скрипты, закреплённые в сессии через JavascriptExecutor.pin: в Chrome и Edge Selenium один раз
+// определяет функцию в каждом документе через CDP, и дальше по сети уходит только её вызов.
+// В остальных браузерах pin ничего не закрепляет, и скрипт выполняется обычным executeScript
+public final class PinnedScripts {
+
+    // Пустой Optional — драйвер не закрепляет скрипты, исходник отправляется каждый раз
+    private static final Map<WebDriver, Map<String, Optional<ScriptKey>>> PINNED =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final LongAdder PINS = new LongAdder();
+    private static final LongAdder CALLS = new LongAdder();
+    private static final LongAdder FALLBACKS = new LongAdder();
+    private static final LongAdder SAVED_BYTES = new LongAdder();
+
+    private PinnedScripts() {
+    }
+
+    public static Object execute(WebDriver driver, String script, Object... args) {
+        JavascriptExecutor executor = (JavascriptExecutor) driver;
+        CALLS.increment();
+        ScriptKey key = keyFor(driver, script).orElse(null);
+        if (key == null) {
+            FALLBACKS.increment();
+            return executor.executeScript(script, args);
+        }
+        try {
+            Object result = executor.executeScript(key, args);
+            SAVED_BYTES.add(script.getBytes(StandardCharsets.UTF_8).length);
+            return result;
+        } catch (JavascriptException e) {
+            // Документ без закреплённой функции (about:blank, data: URL) — выполняем исходник
+            if (!isMissingPinnedFunction(e)) {
+                throw e;
+            }
+            FALLBACKS.increment();
+            return executor.executeScript(script, args);
+        }
+    }
+
+    public static PinnedScriptStats getStats() {
+        return PinnedScriptStats.builder()
+                .pinned(PINS.sum())
+                .calls(CALLS.sum())
+                .fallbacks(FALLBACKS.sum())
+                .savedBytes(SAVED_BYTES.sum())
+                .build();
+    }
+
+    private static Optional<ScriptKey> keyFor(WebDriver driver, String script) {
+        Map<String, Optional<ScriptKey>> keys = PINNED.computeIfAbsent(driver, ignored -> new ConcurrentHashMap<>());
+        Optional<ScriptKey> cached = keys.get(script);
+        if (cached != null) {
+            return cached;
+        }
+        Optional<ScriptKey> key = pin(driver, script);
+        Optional<ScriptKey> existing = keys.putIfAbsent(script, key);
+        if (existing != null) {
+            key.ifPresent(((JavascriptExecutor) driver)::unpin);
+            return existing;
+        }
+        if (key.isPresent()) {
+            PINS.increment();
+        }
+        return key;
+    }
+
+    // Закреплён ли скрипт на самом деле, видно по id, который выдал CDP: без него вызов по ключу
+    // всё равно отправил бы исходник целиком
+    private static Optional<ScriptKey> pin(WebDriver driver, String script) {
+        JavascriptExecutor executor = (JavascriptExecutor) driver;
+        ScriptKey key;
+        try {
+            key = executor.pin(script);
+        } catch (WebDriverException | UnsupportedOperationException e) {
+            return Optional.empty();
+        }
+        if (key instanceof UnpinnedScriptKey && ((UnpinnedScriptKey) key).getScriptId() != null) {
+            return Optional.of(key);
+        }
+        try {
+            executor.unpin(key);
+        } catch (WebDriverException e) {
+            // Ключ нигде не зарегистрирован
+        }
+        return Optional.empty();
+    }
+
+    private static boolean isMissingPinnedFunction(JavascriptException e) {
+        String message = String.valueOf(e.getMessage());
+        return message.contains("is not defined") || message.contains("is not a function");
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.snapshot;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Map;
+
+@Value
+@Builder
+public class ElementState {
+
+    String name;
+    boolean present;
+    String value;
+    String text;
+    boolean displayed;
+    boolean enabled;
+    boolean selected;
+    String selectedOption;
+    Map<String, String> attributes;
+
+    // null, если атрибута нет у элемента; запрошенные в снимке имена всегда присутствуют в карте
+    public String attribute(String attributeName) {
+        if (!attributes.containsKey(attributeName)) {
+            throw new IllegalArgumentException("Атрибут не запрошен в снимке: " + attributeName);
+        }
+        return attributes.get(attributeName);
+    }
+}
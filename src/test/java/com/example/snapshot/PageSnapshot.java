@@ -0,0 +1,20 @@
+package com.example.snapshot;
+
+import lombok.Value;
+
+import java.util.Map;
+
+@Value
+public class PageSnapshot {
+
+    Map<String, ElementState> elements;
+    long captureNanos;
+
+    public ElementState element(String fieldName) {
+        ElementState state = elements.get(fieldName);
+        if (state == null) {
+            throw new IllegalArgumentException("Элемент не описан на странице: " + fieldName);
+        }
+        return state;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.snapshot;
+
+import com.example.binding.BrowserLocators;
+import com.example.script.PinnedScripts;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class PageSnapshots {
+
+    private static final String SCRIPT = BrowserLocators.script("/scripts/page-snapshot.js");
+
+    private PageSnapshots() {
+    }
+
+    // Состояние всех элементов за один executeScript вместо отдельного запроса на каждое свойство
+    @SuppressWarnings("unchecked")
+    public static PageSnapshot capture(WebDriver driver, Map<String, By> locators, String... attributes) {
+        long start = System.nanoTime();
+        List<Map<String, Object>> specs = new ArrayList<>(locators.size());
+        locators.forEach((name, by) -> specs.add(BrowserLocators.spec(driver, name, by)));
+
+        Map<String, Object> raw = (Map<String, Object>) PinnedScripts.execute(
+                driver, SCRIPT, specs, Arrays.asList(attributes));
+
+        Map<String, ElementState> elements = new LinkedHashMap<>();
+        for (String name : locators.keySet()) {
+            elements.put(name, state(name, (Map<String, Object>) raw.get(name)));
+        }
+        return new PageSnapshot(Collections.unmodifiableMap(elements), System.nanoTime() - start);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ElementState state(String name, Map<String, Object> raw) {
+        if (raw == null || !Boolean.TRUE.equals(raw.get("present"))) {
+            return ElementState.builder()
+                    .name(name)
+                    .attributes(Collections.emptyMap())
+                    .build();
+        }
+        Map<String, String> attributes = new LinkedHashMap<>();
+        ((Map<String, Object>) raw.get("attributes")).forEach((attribute, value) ->
+                attributes.put(attribute, value == null ? null : value.toString()));
+        return ElementState.builder()
+                .name(name)
+                .present(true)
+                .value((String) raw.get("value"))
+                .text((String) raw.get("text"))
+                .displayed(Boolean.TRUE.equals(raw.get("displayed")))
+                .enabled(Boolean.TRUE.equals(raw.get("enabled")))
+                .selected(Boolean.TRUE.equals(raw.get("selected")))
+                .selectedOption((String) raw.get("selectedOption"))
+                .attributes(Collections.unmodifiableMap(attributes))
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.snapshot;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Набор проверок страницы: ожидания копятся, затем сверяются с одним снимком состояния,
+// и все расхождения попадают в один отчёт assertAll вместо остановки на первом
+public class PageVerification {
+
+    private final String page;
+    private final Function<String[], PageSnapshot> capture;
+    private final Set<String> attributes = new LinkedHashSet<>();
+    private final List<Consumer<PageSnapshot>> checks = new ArrayList<>();
+
+    public PageVerification(String page, Function<String[], PageSnapshot> capture) {
+        this.page = page;
+        this.capture = capture;
+    }
+
+    public PageVerification value(String field, String expected, String message) {
+        return check(snapshot -> assertEquals(expected, snapshot.element(field).getValue(), message));
+    }
+
+    public PageVerification text(String field, String expected, String message) {
+        return check(snapshot -> assertEquals(expected, snapshot.element(field).getText(), message));
+    }
+
+    public PageVerification textContains(String field, String expected, String message) {
+        return check(snapshot -> {
+            String actual = snapshot.element(field).getText();
+            assertTrue(actual != null && actual.contains(expected),
+                    message + ": ожидалось вхождение '" + expected + "', получено '" + actual + "'");
+        });
+    }
+
+    public PageVerification notEmpty(String field, String message) {
+        return check(snapshot -> {
+            String actual = snapshot.element(field).getValue();
+            assertTrue(actual != null && !actual.isEmpty(), message);
+        });
+    }
+
+    public PageVerification selectedOption(String field, String expected, String message) {
+        return check(snapshot -> assertEquals(expected, snapshot.element(field).getSelectedOption(), message));
+    }
+
+    public PageVerification selected(String field, boolean expected, String message) {
+        return check(snapshot -> assertEquals(expected, snapshot.element(field).isSelected(), message));
+    }
+
+    public PageVerification enabled(String field, boolean expected, String message) {
+        return check(snapshot -> assertEquals(expected, snapshot.element(field).isEnabled(), message));
+    }
+
+    public PageVerification displayed(String field, boolean expected, String message) {
+        return check(snapshot -> assertEquals(expected, snapshot.element(field).isDisplayed(), message));
+    }
+
+    public PageVerification attribute(String field, String attribute, String expected, String message) {
+        attributes.add(attribute);
+        return check(snapshot -> assertEquals(expected, snapshot.element(field).attribute(attribute), message));
+    }
+
+    public PageVerification attributePresent(String field, String attribute, String message) {
+        attributes.add(attribute);
+        return check(snapshot -> assertNotNull(snapshot.element(field).attribute(attribute), message));
+    }
+
+    // Произвольная проверка по снимку; attributes — атрибуты, которые нужно в него включить
+    public PageVerification that(Consumer<PageSnapshot> check, String... attributes) {
+        this.attributes.addAll(Arrays.asList(attributes));
+        return check(check);
+    }
+
+    // Снимок делается один раз на все ожидания; возвращается для дальнейших проверок в тесте
+    public PageSnapshot assertAll() {
+        PageSnapshot snapshot = capture.apply(attributes.toArray(new String[0]));
+        List<Executable> executables = new ArrayList<>(checks.size());
+        for (Consumer<PageSnapshot> check : checks) {
+            executables.add(() -> check.accept(snapshot));
+        }
+        Assertions.assertAll("Проверки страницы " + page, executables);
+        return snapshot;
+    }
+
+    private PageVerification check(Consumer<PageSnapshot> check) {
+        checks.add(Objects.requireNonNull(check));
+        return this;
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.tests;
 
+import com.example.driver.BrowserProfile;
+import com.example.download.DownloadMonitor;
 import com.example.driver.DriverFactory;
 import com.example.listeners.TestListener;
 import com.example.manager.PageManager;
@@ -7,6 +9,7 @@ import io.qameta.allure.*;
 import io.qameta.allure.model.Status;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 
@@ -15,8 +18,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.HashMap;
-import java.util.Map;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -32,6 +35,7 @@ public class DownloadPageTest {
     private PageManager pageManager;
     private WebDriver driver;
     private String downloadDir;
+    private DownloadMonitor downloads;
 
     @BeforeEach
     @Step("Настройка окружения для тестов загрузки")
@@ -42,6 +46,7 @@ public class DownloadPageTest {
 
         // Создаем временную папку для загрузок
         downloadDir = createDownloadDirectoryStep();
+        downloads = new DownloadMonitor(Paths.get(downloadDir));
 
         // Настраиваем Chrome для загрузки в указанную папку
         ChromeOptions options = createChromeOptionsStep(downloadDir);
@@ -57,6 +62,7 @@ public class DownloadPageTest {
     @Step("Очистка после теста")
     @Description("Закрытие браузера и копирование файлов в Allure отчет")
     public void teardown() throws IOException {
+        downloads.close();
         closeBrowserStep();
         copyDownloadsToAllureStep();
 
@@ -116,16 +122,11 @@ public class DownloadPageTest {
 
     @Step("Создание ChromeOptions для загрузки")
     private ChromeOptions createChromeOptionsStep(String downloadPath) {
-        ChromeOptions options = new ChromeOptions();
-        Map<String, Object> prefs = new HashMap<>();
-        prefs.put("download.default_directory", downloadPath);
-        prefs.put("download.prompt_for_download", false);
-        prefs.put("download.directory_upgrade", true);
-        prefs.put("safebrowsing.enabled", true);
-        options.setExperimentalOption("prefs", prefs);
+        ChromeOptions options = DriverFactory.getChromeOptionsForDownload(downloadPath);
 
         Allure.addAttachment("Chrome настройки", "text/plain",
-                "Директория загрузки: " + downloadPath + "\nПодтверждение загрузки: отключено");
+                "Профиль: " + BrowserProfile.DOWNLOAD + "\nДиректория загрузки: " + downloadPath
+                        + "\nПодтверждение загрузки: отключено");
 
         return options;
     }
@@ -141,10 +142,11 @@ public class DownloadPageTest {
         Allure.parameter("Описание файла", fileDescription);
 
         Path expectedFile = Paths.get(downloadDir, fileName);
+        CompletableFuture<Path> download = downloads.expect(fileName);
 
         openDownloadPageStep();
         performDownloadStep(fileName, fileDescription);
-        waitForFileDownloadStep(expectedFile, 10000);
+        waitForFileDownloadStep(download, fileName, 10000);
         validateDownloadedFileStep(expectedFile, fileName);
         attachFileToReportStep(expectedFile, fileDescription);
     }
@@ -175,31 +177,16 @@ public class DownloadPageTest {
     }
 
     @Step("Ожидание загрузки файла (таймаут: {timeoutMillis}ms)")
-    private void waitForFileDownloadStep(Path filePath, long timeoutMillis) throws InterruptedException, IOException {
-        long startTime = System.currentTimeMillis();
-
-        while (System.currentTimeMillis() - startTime < timeoutMillis) {
-            if (Files.exists(filePath)) {
-                try {
-                    long size1 = Files.size(filePath);
-                    Thread.sleep(1000);
-                    long size2 = Files.size(filePath);
-
-                    if (size1 == size2 && size1 > 0) {
-                        Allure.step("Файл полностью загружен, размер: " + size1 + " bytes");
-                        return;
-                    }
-                } catch (IOException e) {
-                    // Файл может быть заблокирован во время записи, продолжаем ждать
-                    Allure.step("Файл заблокирован, продолжаем ожидание: " + e.getMessage());
-                    Thread.sleep(500);
-                }
-            }
-            Thread.sleep(500);
+    private void waitForFileDownloadStep(CompletableFuture<Path> download, String fileName, long timeoutMillis)
+            throws IOException {
+        Path file;
+        try {
+            file = downloads.await(download, fileName, Duration.ofMillis(timeoutMillis));
+        } catch (TimeoutException e) {
+            Allure.step("Таймаут загрузки файла", Status.FAILED);
+            throw e;
         }
-
-        Allure.step("Таймаут загрузки файла", Status.FAILED);
-        throw new RuntimeException("Файл не загрузился за " + timeoutMillis + " мс");
+        Allure.step("Файл полностью загружен, размер: " + Files.size(file) + " bytes");
     }
 
     @Step("Валидация загруженного файла: {fileName}")
@@ -1,58 +1,57 @@
 package com.example.tests;
 
-import com.example.driver.DriverFactory;
+import com.example.listeners.DriverExtension;
 import com.example.manager.PageManager;
 import com.example.pages.LoginPage;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
 
+@ExtendWith(DriverExtension.class)
+@Execution(ExecutionMode.CONCURRENT)
 public class LoginPageTest {
 
     private PageManager pageManager;
 
     @BeforeEach
-    public void setup() {
-        pageManager = new PageManager(DriverFactory.createDefaultDriver());
-    }
-
-    @AfterEach
-    public void teardown() {
-        pageManager.quit();
+    public void setup(PageManager pageManager) {
+        this.pageManager = pageManager;
     }
 
     @Test
-    public void testWrongUsername() throws InterruptedException {
+    public void testWrongUsername() {
         pageManager.openLoginPage("https://bonigarcia.dev/selenium-webdriver-java/login-form.html");
 
         LoginPage loginPage = pageManager.getLoginPage();
         loginPage.enterUsername("qwe");
         loginPage.submitForm();
 
-        Thread.sleep(500);
+        loginPage.waitForErrorMessage();
         loginPage.verifyErrorMessage("Invalid credentials");
     }
 
     @Test
-    public void testWrongPassword() throws InterruptedException {
+    public void testWrongPassword() {
         pageManager.openLoginPage("https://bonigarcia.dev/selenium-webdriver-java/login-form.html");
 
         LoginPage loginPage = pageManager.getLoginPage();
         loginPage.enterPassword("ewq");
         loginPage.submitForm();
 
-        Thread.sleep(500);
+        loginPage.waitForErrorMessage();
         loginPage.verifyErrorMessage("Invalid credentials");
     }
 
     @Test
-    public void testAdminCredentialsShowError() throws InterruptedException {
+    public void testAdminCredentialsShowError() {
         pageManager.openLoginPage("https://bonigarcia.dev/selenium-webdriver-java/login-form.html");
 
         LoginPage loginPage = pageManager.getLoginPage();
         loginPage.loginWithCredentials("admin", "password");
 
-        Thread.sleep(500);
+        loginPage.waitForErrorMessage();
         loginPage.verifyErrorMessage("Invalid credentials");
     }
 }
\ No newline at end of file
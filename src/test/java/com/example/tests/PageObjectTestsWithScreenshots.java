@@ -1,15 +1,23 @@
 package com.example.tests;
 
-import com.example.driver.DriverFactory;
+import com.example.driver.DriverContext;
+import com.example.form.FormFillResult;
+import com.example.listeners.DriverExtension;
 import com.example.listeners.TestListener;
 import com.example.manager.PageManager;
 import io.qameta.allure.*;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-@ExtendWith(TestListener.class)
+@ExtendWith({DriverExtension.class, TestListener.class})
+@Execution(ExecutionMode.CONCURRENT)
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @Epic("UI Тесты")
 @Feature("Авторизация и формы")
@@ -18,8 +26,6 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 @Tag("smoke")
 public class PageObjectTestsWithScreenshots {
 
-    private PageManager pageManager;
-
     @BeforeEach
     @Step("Инициализация WebDriver и PageManager")
     @Description("Настройка окружения для UI тестов")
@@ -27,19 +33,12 @@ public class PageObjectTestsWithScreenshots {
         Allure.label("layer", "ui");
         Allure.label("component", "web-ui");
 
-        pageManager = new PageManager(DriverFactory.createDefaultDriver());
         Allure.addAttachment("WebDriver инициализирован", "text/plain",
-                "Браузер: Chrome\nОкно: максимизировано");
+                "Браузер: Chrome\nОкно: максимизировано\nПоток: " + Thread.currentThread().getName());
     }
 
-    @AfterEach
-    @Step("Завершение теста")
-    @Description("Закрытие браузера и очистка ресурсов")
-    public void teardown() {
-        if (pageManager != null) {
-            pageManager.quit();
-            Allure.step("Браузер закрыт");
-        }
+    private PageManager pageManager() {
+        return DriverContext.getPageManager();
     }
 
     @Test
@@ -49,7 +48,7 @@ public class PageObjectTestsWithScreenshots {
     @DisplayName("UI: Логин с неверным именем пользователя")
     @Tag("login")
     @Tag("negative")
-    public void testLoginPage_WrongUsername() throws InterruptedException {
+    public void testLoginPage_WrongUsername() {
         Allure.parameter("URL", "https://bonigarcia.dev/selenium-webdriver-java/login-form.html");
         Allure.parameter("Логин", "wronguser");
 
@@ -84,7 +83,7 @@ public class PageObjectTestsWithScreenshots {
     @DisplayName("UI: Создание нового пользователя")
     @Tag("registration")
     @Tag("smoke")
-    public void testCreateNewUser() throws InterruptedException {
+    public void testCreateNewUser() {
         openWebFormPageStep();
         fillAllFormFieldsStep();
         validateFormSubmissionStep();
@@ -92,39 +91,39 @@ public class PageObjectTestsWithScreenshots {
 
     @Step("Открытие страницы логина")
     private void openLoginPageStep() {
-        pageManager.openLoginPage("https://bonigarcia.dev/selenium-webdriver-java/login-form.html");
+        pageManager().openLoginPage("https://bonigarcia.dev/selenium-webdriver-java/login-form.html");
         Allure.addAttachment("Страница открыта", "text/plain",
                 "Страница логина загружена успешно");
     }
 
     @Step("Открытие страницы веб-формы")
     private void openWebFormPageStep() {
-        pageManager.openWebFormPage("https://bonigarcia.dev/selenium-webdriver-java/web-form.html");
+        pageManager().openWebFormPage("https://bonigarcia.dev/selenium-webdriver-java/web-form.html");
         Allure.addAttachment("Страница открыта", "text/plain",
                 "Страница веб-формы загружена успешно");
     }
 
     @Step("Ввод имени пользователя: {username}")
     private void enterUsernameStep(String username) {
-        pageManager.getLoginPage().enterUsername(username);
+        pageManager().getLoginPage().enterUsername(username);
         Allure.addAttachment("Введен логин", "text/plain", username);
     }
 
     @Step("Отправка формы логина")
     private void submitLoginFormStep() {
-        pageManager.getLoginPage().submitForm();
+        pageManager().getLoginPage().submitForm();
         Allure.step("Форма отправлена");
     }
 
-    @Step("Ожидание ответа (500ms)")
-    private void waitForResponseStep() throws InterruptedException {
-        Thread.sleep(500);
+    @Step("Ожидание сообщения об ошибке")
+    private void waitForResponseStep() {
+        pageManager().getLoginPage().waitForErrorMessage();
         Allure.step("Ожидание завершено");
     }
 
     @Step("Валидация сообщения об ошибке. Ожидается: {expectedError}")
     private void validateErrorMessageStep(String expectedError) {
-        String actualError = pageManager.getLoginPage().getErrorMessage();
+        String actualError = pageManager().getLoginPage().getErrorMessage();
         Allure.addAttachment("Фактическая ошибка", "text/plain", actualError);
         Allure.addAttachment("Ожидаемая ошибка", "text/plain", expectedError);
 
@@ -137,13 +136,13 @@ public class PageObjectTestsWithScreenshots {
 
     @Step("Ввод текста в поле: {text}")
     private void enterTextInputStep(String text) {
-        pageManager.getWebFormPage().setTextInput(text);
+        pageManager().getWebFormPage().setTextInput(text);
         Allure.addAttachment("Введенный текст", "text/plain", text);
     }
 
     @Step("Проверка текстового поля. Ожидается: {expectedText}")
     private void validateTextInputStep(String expectedText) {
-        String actualText = pageManager.getWebFormPage().getTextInputValue();
+        String actualText = pageManager().getWebFormPage().getTextInputValue();
         Allure.addAttachment("Фактический текст", "text/plain", actualText);
 
         assertTrue(actualText.equals(expectedText),
@@ -155,25 +154,27 @@ public class PageObjectTestsWithScreenshots {
 
     @Step("Заполнение всех полей формы")
     private void fillAllFormFieldsStep() {
-        pageManager.getWebFormPage().setTextInput("John Doe");
-        pageManager.getWebFormPage().setPassword("Secret123!");
-        pageManager.getWebFormPage().setTextarea("Комментарий для теста");
-        pageManager.getWebFormPage().selectDropdownOptionByValue("2");
-        pageManager.getWebFormPage().setDatalistValue("New York");
-        pageManager.getWebFormPage().selectRadioButton();
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("textInput", "John Doe");
+        values.put("passwordInput", "Secret123!");
+        values.put("textarea", "Комментарий для теста");
+        values.put("selectElement", "2");
+        values.put("datalistInput", "New York");
+        values.put("radioButton", "true");
+        FormFillResult result = pageManager().getWebFormPage().fill(values);
 
         Allure.addAttachment("Заполненные данные", "text/plain",
-                "Текст: John Doe\nПароль: *******\nВыпадающий список: 2\nГород: New York\nРадио: выбран");
+                "Текст: John Doe\nПароль: *******\nВыпадающий список: 2\nГород: New York\nРадио: выбран\n" + result);
     }
 
     @Step("Валидация отправки формы")
-    private void validateFormSubmissionStep() throws InterruptedException {
-        pageManager.getWebFormPage().submitForm();
-        Thread.sleep(2000);
+    private void validateFormSubmissionStep() {
+        pageManager().getWebFormPage().submitForm();
+        pageManager().getWebFormPage().waitForSubmission();
 
-        String pageSource = pageManager.getWebFormPage().driver.getPageSource();
+        String pageSource = pageManager().getWebFormPage().driver.getPageSource();
         boolean isSubmitted = pageSource.contains("Submitted") ||
-                pageManager.getWebFormPage().driver.getCurrentUrl().contains("submitted");
+                pageManager().getWebFormPage().driver.getCurrentUrl().contains("submitted");
 
         Allure.addAttachment("Результат отправки", "text/plain",
                 isSubmitted ? "Форма успешно отправлена" : "Ошибка при отправке формы");
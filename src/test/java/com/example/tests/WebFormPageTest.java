@@ -1,6 +1,6 @@
 package com.example.tests;
 
-import com.example.driver.DriverFactory;
+import com.example.listeners.DriverExtension;
 import com.example.manager.PageManager;
 import com.example.pages.WebFormPage;
 import io.qameta.allure.Description;
@@ -8,6 +8,9 @@ import io.qameta.allure.Story;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
 
 import java.io.File;
 import java.io.IOException;
@@ -16,14 +19,16 @@ import java.nio.file.Path;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+@ExtendWith(DriverExtension.class)
+@Execution(ExecutionMode.CONCURRENT)
 public class WebFormPageTest {
 
     private PageManager pageManager;
     private Path testFile;
 
     @BeforeEach
-    public void setup() throws IOException {
-        pageManager = new PageManager(DriverFactory.createDefaultDriver());
+    public void setup(PageManager pageManager) throws IOException {
+        this.pageManager = pageManager;
         testFile = Files.createTempFile("test", ".txt");
         Files.write(testFile, "test content".getBytes());
     }
@@ -31,7 +36,6 @@ public class WebFormPageTest {
     @AfterEach
     public void teardown() throws IOException {
         Files.deleteIfExists(testFile);
-        pageManager.quit();
     }
 
     @Test
@@ -126,14 +130,41 @@ public class WebFormPageTest {
     }
 
     @Test
-    public void testSubmitForm() throws InterruptedException {
+    @Story("Проверка формы")
+    @Description("Исходное состояние всех полей проверяется по одному снимку")
+    public void testDefaultState() {
+        pageManager.openWebFormPage("https://bonigarcia.dev/selenium-webdriver-java/web-form.html");
+
+        pageManager.getWebFormPage().verifyDefaults();
+    }
+
+    @Test
+    @Story("Проверка формы")
+    @Description("Несколько заполненных полей проверяются одним набором ожиданий")
+    public void testFilledFieldsVerifiedTogether() {
         pageManager.openWebFormPage("https://bonigarcia.dev/selenium-webdriver-java/web-form.html");
 
         WebFormPage webFormPage = pageManager.getWebFormPage();
         webFormPage.setTextInput("Test");
-        webFormPage.submitForm();
+        webFormPage.setTextarea("Text");
+        webFormPage.selectDropdownOptionByValue("1");
+        webFormPage.selectRadioButton();
+        webFormPage.verify()
+                .value("textInput", "Test", "Текст в поле не соответствует ожидаемому")
+                .value("textarea", "Text", "Текст в textarea не соответствует ожидаемому")
+                .selectedOption("selectElement", "One", "Выбранная опция в dropdown не соответствует ожидаемой")
+                .selected("radioButton", true, "Radio button должен быть выбран")
+                .assertAll();
+    }
+
+    @Test
+    public void testSubmitForm() {
+        pageManager.openWebFormPage("https://bonigarcia.dev/selenium-webdriver-java/web-form.html");
 
-        Thread.sleep(2000);
+        WebFormPage webFormPage = pageManager.getWebFormPage();
+        webFormPage.setTextInput("Test");
+        webFormPage.submitForm();
+        webFormPage.waitForSubmission();
 
         String pageSource = webFormPage.driver.getPageSource();
         assertTrue(pageSource.contains("Submitted") ||
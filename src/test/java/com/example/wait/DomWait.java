@@ -0,0 +1,219 @@
+package com.example.wait;
+
+import com.example.binding.BrowserLocators;
+import com.example.config.DriverConfig;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Ожидания на событиях DOM вместо Thread.sleep и опроса: один executeAsyncScript на ожидание,
+// внутри страницы MutationObserver завершает его сразу, как только условие выполнилось
+public final class DomWait {
+
+    private static final String SCRIPT = BrowserLocators.script("/scripts/dom-wait.js");
+    private static final long SCRIPT_TIMEOUT_MARGIN_MILLIS = 2_000;
+    // Таймаут асинхронных скриптов по спецификации WebDriver: ожидания, которые в него помещаются,
+    // обходятся без лишних запросов к /timeouts
+    private static final long SPEC_SCRIPT_TIMEOUT_MILLIS = 30_000;
+
+    private static final LongAdder WAITS = new LongAdder();
+    private static final LongAdder TIMEOUTS = new LongAdder();
+    private static final LongAdder NAVIGATION_RETRIES = new LongAdder();
+    private static final LongAdder TOTAL_WAIT_NANOS = new LongAdder();
+    private static final LongAdder TOTAL_BUDGET_NANOS = new LongAdder();
+    private static final AtomicLong MAX_WAIT_NANOS = new AtomicLong();
+
+    private final WebDriver driver;
+    private final Duration budget;
+
+    public DomWait(WebDriver driver) {
+        this(driver, Duration.ofMillis(DriverConfig.getWaitBudgetMillis()));
+    }
+
+    private DomWait(WebDriver driver, Duration budget) {
+        this.driver = driver;
+        this.budget = budget;
+    }
+
+    public DomWait within(Duration budget) {
+        return new DomWait(driver, budget);
+    }
+
+    public WebElement present(By by) {
+        if (!(by instanceof By.Remotable)) {
+            return poll("элемент " + by, ExpectedConditions.presenceOfElementLocated(by));
+        }
+        return (WebElement) await("элемент " + by, condition("present", by), budget).get("element");
+    }
+
+    public WebElement visible(By by) {
+        if (!(by instanceof By.Remotable)) {
+            return poll("видимый элемент " + by, ExpectedConditions.visibilityOfElementLocated(by));
+        }
+        return (WebElement) await("видимый элемент " + by, condition("visible", by), budget).get("element");
+    }
+
+    public WebElement textContains(By by, String text) {
+        if (!(by instanceof By.Remotable)) {
+            return poll("текст '" + text + "' в " + by, found -> {
+                WebElement element = found.findElement(by);
+                return element.getText().contains(text) ? element : null;
+            });
+        }
+        Map<String, Object> condition = condition("text", by);
+        condition.put("text", text);
+        return (WebElement) await("текст '" + text + "' в " + by, condition, budget).get("element");
+    }
+
+    public void pageContains(String text) {
+        Map<String, Object> condition = condition("text", null);
+        condition.put("text", text);
+        await("текст '" + text + "' на странице", condition, budget);
+    }
+
+    public String urlContains(String fragment) {
+        Map<String, Object> condition = condition("url", null);
+        condition.put("url", fragment);
+        return (String) await("URL с '" + fragment + "'", condition, budget).get("url");
+    }
+
+    public String urlChanges(String from) {
+        Map<String, Object> condition = condition("urlChange", null);
+        condition.put("url", from);
+        return (String) await("смена URL " + from, condition, budget).get("url");
+    }
+
+    public int countGreaterThan(By by, int count) {
+        if (!(by instanceof By.Remotable)) {
+            return poll("больше " + count + " элементов " + by,
+                    ExpectedConditions.numberOfElementsToBeMoreThan(by, count)).size();
+        }
+        Map<String, Object> condition = condition("count", by);
+        condition.put("count", count);
+        Object found = await("больше " + count + " элементов " + by, condition, budget).get("count");
+        return ((Number) found).intValue();
+    }
+
+    // DOM не менялся quiet подряд: для анимаций и догрузки, у которых нет отдельного признака завершения
+    public void quiet(Duration quiet) {
+        Map<String, Object> condition = condition("quiet", null);
+        condition.put("quietMillis", quiet.toMillis());
+        await("тишина DOM " + quiet.toMillis() + " ms", condition, budget);
+    }
+
+    public static WaitStats getStats() {
+        return WaitStats.builder()
+                .waits(WAITS.sum())
+                .timeouts(TIMEOUTS.sum())
+                .navigationRetries(NAVIGATION_RETRIES.sum())
+                .totalWaitNanos(TOTAL_WAIT_NANOS.sum())
+                .maxWaitNanos(MAX_WAIT_NANOS.get())
+                .totalBudgetNanos(TOTAL_BUDGET_NANOS.sum())
+                .build();
+    }
+
+    private Map<String, Object> condition(String type, By by) {
+        Map<String, Object> condition = by == null ? new HashMap<>() : BrowserLocators.spec(driver, type, by);
+        condition.put("type", type);
+        return condition;
+    }
+
+    // ByShadowPath, ByChained, ByAll, ByIdOrName не передать в скрипт ожидания: элемент нашёлся бы в Java один
+    // раз до начала ожидания, и скрипт ждал бы неизменный null. Для них остаётся опрос
+    private <T> T poll(String description, Function<WebDriver, T> condition) {
+        long start = System.nanoTime();
+        try {
+            return new WebDriverWait(driver, budget)
+                    .ignoring(StaleElementReferenceException.class)
+                    .until(condition);
+        } catch (TimeoutException e) {
+            throw timeout(description, budget);
+        } finally {
+            record(start, budget);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> await(String description, Map<String, Object> condition, Duration budget) {
+        long start = System.nanoTime();
+        long deadline = start + budget.toNanos();
+        try {
+            while (true) {
+                long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+                if (remainingMillis <= 0) {
+                    throw timeout(description, budget);
+                }
+                try {
+                    Map<String, Object> result = (Map<String, Object>) executeWithin(condition, remainingMillis);
+                    if (result != null && Boolean.TRUE.equals(result.get("met"))) {
+                        return result;
+                    }
+                    throw timeout(description, budget);
+                } catch (TimeoutException e) {
+                    throw e;
+                } catch (WebDriverException e) {
+                    if (!isNavigationInterruption(e)) {
+                        throw e;
+                    }
+                    // Документ сменился во время ожидания: проверяем условие уже на новом документе
+                    NAVIGATION_RETRIES.increment();
+                }
+            }
+        } finally {
+            record(start, budget);
+        }
+    }
+
+    private static void record(long start, Duration budget) {
+        long elapsed = System.nanoTime() - start;
+        WAITS.increment();
+        TOTAL_WAIT_NANOS.add(elapsed);
+        TOTAL_BUDGET_NANOS.add(budget.toNanos());
+        MAX_WAIT_NANOS.accumulateAndGet(elapsed, Math::max);
+    }
+
+    private Object executeWithin(Map<String, Object> condition, long budgetMillis) {
+        Duration required = Duration.ofMillis(budgetMillis + SCRIPT_TIMEOUT_MARGIN_MILLIS);
+        if (required.toMillis() <= SPEC_SCRIPT_TIMEOUT_MILLIS) {
+            return ((JavascriptExecutor) driver).executeAsyncScript(SCRIPT, condition, budgetMillis);
+        }
+        // Бюджет не помещается в таймаут асинхронных скриптов; после ожидания возвращаем тот,
+        // что выставил тест или драйвер
+        Duration scriptTimeout = driver.manage().timeouts().getScriptTimeout();
+        boolean extended = required.compareTo(scriptTimeout) > 0;
+        if (extended) {
+            driver.manage().timeouts().scriptTimeout(required);
+        }
+        try {
+            return ((JavascriptExecutor) driver).executeAsyncScript(SCRIPT, condition, budgetMillis);
+        } finally {
+            if (extended) {
+                driver.manage().timeouts().scriptTimeout(scriptTimeout);
+            }
+        }
+    }
+
+    private static TimeoutException timeout(String description, Duration budget) {
+        TIMEOUTS.increment();
+        return new TimeoutException("Не дождались: " + description + " за " + budget.toMillis() + " ms");
+    }
+
+    private static boolean isNavigationInterruption(WebDriverException e) {
+        String message = String.valueOf(e.getMessage());
+        return message.contains("unloaded") || message.contains("Execution context")
+                || message.contains("execution context") || message.contains("detached");
+    }
+}
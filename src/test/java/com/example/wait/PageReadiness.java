@@ -0,0 +1,287 @@
+package com.example.wait;
+
+import com.example.config.DriverConfig;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Готовность страницы по событиям DevTools: нет запросов в полёте дольше заданного времени и
+// нет идущих CSS-анимаций. Слушатели подключаются к текущему окну драйвера и переподключаются, когда окно
+// сменилось (новый контекст BROWSER_CONTEXT, switchTo().window), поэтому of() стоит вызывать
+// до действия, после которого ждём: запросы, начатые до подключения, не видны.
+// Без CDP (Firefox) ожидание сводится к тишине DOM через DomWait
+public final class PageReadiness {
+
+    // Значение не ссылается на драйвер: иначе ключ всегда достижим, и драйвер вместе с сессией CDP не
+    // собирается никогда
+    private static final Map<WebDriver, Tracker> TRACKERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final LongAdder WAITS = new LongAdder();
+    private static final LongAdder FALLBACK_WAITS = new LongAdder();
+    private static final LongAdder TIMEOUTS = new LongAdder();
+    private static final LongAdder TOTAL_WAIT_NANOS = new LongAdder();
+    private static final LongAdder TOTAL_REPLACED_SLEEP_NANOS = new LongAdder();
+
+    private final WebDriver driver;
+    private final Tracker tracker;
+
+    private PageReadiness(WebDriver driver, Tracker tracker) {
+        this.driver = driver;
+        this.tracker = tracker;
+    }
+
+    public static PageReadiness of(WebDriver driver) {
+        Tracker tracker = TRACKERS.get(driver);
+        if (tracker == null) {
+            // Подключение к DevTools — несколько запросов, поэтому вне общей блокировки карты
+            tracker = new Tracker(devTools(driver));
+            Tracker existing = TRACKERS.putIfAbsent(driver, tracker);
+            if (existing != null) {
+                tracker = existing;
+            }
+        }
+        tracker.followCurrentWindow(driver);
+        return new PageReadiness(driver, tracker);
+    }
+
+    // Сессия возвращается в пул: следующему тесту поток событий Network и Animation не нужен
+    public static void detach(WebDriver driver) {
+        Tracker tracker = TRACKERS.remove(driver);
+        if (tracker != null) {
+            tracker.detach();
+        }
+    }
+
+    // replacedSleep — фиксированная пауза, которую заменяет ожидание; по ней считается сэкономленное время
+    public Duration awaitStable(Duration replacedSleep) {
+        return await(replacedSleep, true, true);
+    }
+
+    public Duration awaitNetworkIdle(Duration replacedSleep) {
+        return await(replacedSleep, true, false);
+    }
+
+    public Duration awaitAnimationsIdle(Duration replacedSleep) {
+        return await(replacedSleep, false, true);
+    }
+
+    public static ReadinessStats getStats() {
+        return ReadinessStats.builder()
+                .waits(WAITS.sum())
+                .fallbackWaits(FALLBACK_WAITS.sum())
+                .timeouts(TIMEOUTS.sum())
+                .totalWaitNanos(TOTAL_WAIT_NANOS.sum())
+                .totalReplacedSleepNanos(TOTAL_REPLACED_SLEEP_NANOS.sum())
+                .build();
+    }
+
+    private Duration await(Duration replacedSleep, boolean network, boolean animation) {
+        long start = System.nanoTime();
+        Duration idle = Duration.ofMillis(DriverConfig.getNetworkIdleMillis());
+        long budgetNanos = DriverConfig.getWaitBudgetMillis() * 1_000_000;
+        try {
+            if (!tracker.followCurrentWindow(driver)) {
+                FALLBACK_WAITS.increment();
+                new DomWait(driver).within(Duration.ofNanos(budgetNanos)).quiet(idle);
+                return Duration.ofNanos(System.nanoTime() - start);
+            }
+            return tracker.await(start, budgetNanos, idle.toNanos(), network, animation);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ожидание готовности страницы прервано", e);
+        } finally {
+            WAITS.increment();
+            TOTAL_WAIT_NANOS.add(System.nanoTime() - start);
+            TOTAL_REPLACED_SLEEP_NANOS.add(replacedSleep.toNanos());
+        }
+    }
+
+    private static DevTools devTools(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            return null;
+        }
+        try {
+            return ((HasDevTools) driver).maybeGetDevTools().orElse(null);
+        } catch (WebDriverException e) {
+            System.err.println("DevTools недоступны, готовность страницы определяется по DOM: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+
+    private static double number(Object value, double fallback) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        // CDP передаёт Infinity строкой или null в зависимости от версии
+        if (value != null && String.valueOf(value).contains("Infinity")) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return fallback;
+    }
+
+    // Состояние подключения к target текущего окна: запросы в полёте и идущие анимации
+    private static final class Tracker {
+
+        private final DevTools devTools;
+        // Окно, к target которого подключены слушатели
+        private String attachedHandle;
+        private boolean unsupported;
+        private final Set<String> requests = new HashSet<>();
+        // id анимации -> момент окончания по System.nanoTime()
+        private final Map<String, Long> animations = new HashMap<>();
+        private long lastNetworkActivity = System.nanoTime();
+
+        private Tracker(DevTools devTools) {
+            this.devTools = devTools;
+        }
+
+        private synchronized Duration await(long start, long budgetNanos, long idleNanos, boolean network,
+                                            boolean animation) throws InterruptedException {
+            while (true) {
+                long now = System.nanoTime();
+                long remaining = Math.max(network ? networkIdleIn(now, idleNanos) : 0,
+                        animation ? animationsIdleIn(now) : 0);
+                if (remaining == 0) {
+                    return Duration.ofNanos(now - start);
+                }
+                long left = start + budgetNanos - now;
+                if (left <= 0) {
+                    TIMEOUTS.increment();
+                    throw new TimeoutException(String.format(
+                            "Страница не успокоилась за %d ms: запросов в полёте %d, анимаций %d",
+                            budgetNanos / 1_000_000, requests.size(), animations.size()));
+                }
+                long sleepNanos = Math.min(remaining, left);
+                wait(Math.max(1, sleepNanos / 1_000_000));
+            }
+        }
+
+        // Сколько ещё ждать тишины сети; 0 — сеть уже простаивает нужное время
+        private long networkIdleIn(long now, long idleNanos) {
+            if (!requests.isEmpty()) {
+                return idleNanos;
+            }
+            return Math.max(0, lastNetworkActivity + idleNanos - now);
+        }
+
+        private long animationsIdleIn(long now) {
+            animations.values().removeIf(end -> end <= now);
+            return animations.values().stream().mapToLong(end -> end - now).max().orElse(0);
+        }
+
+        // Слушатели привязаны к target окна: после смены окна старый target закрыт или чужой,
+        // и без переподключения трекер видел бы вечную тишину. false — DevTools недоступны
+        private synchronized boolean followCurrentWindow(WebDriver driver) {
+            if (devTools == null || unsupported) {
+                return false;
+            }
+            String handle = driver.getWindowHandle();
+            if (handle.equals(attachedHandle)) {
+                return true;
+            }
+            try {
+                if (attachedHandle != null) {
+                    devTools.clearListeners();
+                    try {
+                        devTools.disconnectSession();
+                    } catch (WebDriverException e) {
+                        // Target прежнего окна уже уничтожен вместе с контекстом
+                    }
+                }
+                requests.clear();
+                animations.clear();
+                lastNetworkActivity = System.nanoTime();
+                devTools.createSession(handle);
+                listen();
+                attachedHandle = handle;
+                return true;
+            } catch (WebDriverException e) {
+                // Firefox и часть удалённых сессий не поддерживают нужные домены CDP
+                System.err.println("DevTools недоступны, готовность страницы определяется по DOM: " + e.getMessage());
+                attachedHandle = null;
+                unsupported = true;
+                return false;
+            }
+        }
+
+        private synchronized void detach() {
+            if (attachedHandle == null) {
+                return;
+            }
+            try {
+                devTools.send(new Command<>("Network.disable", Map.of()));
+                devTools.send(new Command<>("Animation.disable", Map.of()));
+                devTools.clearListeners();
+                devTools.disconnectSession();
+            } catch (WebDriverException e) {
+                // Target уже закрыт вместе с окном или контекстом
+            }
+            attachedHandle = null;
+        }
+
+        private void listen() {
+            devTools.send(new Command<>("Network.enable", Map.of()));
+            devTools.send(new Command<>("Animation.enable", Map.of()));
+
+            devTools.addListener(event("Network.requestWillBeSent"), params -> onRequest(params, true));
+            devTools.addListener(event("Network.loadingFinished"), params -> onRequest(params, false));
+            devTools.addListener(event("Network.loadingFailed"), params -> onRequest(params, false));
+            devTools.addListener(event("Animation.animationStarted"), this::onAnimationStarted);
+            devTools.addListener(event("Animation.animationCanceled"), params -> {
+                synchronized (this) {
+                    animations.remove(String.valueOf(params.get("id")));
+                    notifyAll();
+                }
+            });
+        }
+
+        private synchronized void onRequest(Map<String, Object> params, boolean started) {
+            String id = String.valueOf(params.get("requestId"));
+            if (started) {
+                requests.add(id);
+            } else {
+                requests.remove(id);
+            }
+            lastNetworkActivity = System.nanoTime();
+            notifyAll();
+        }
+
+        // У Animation domain нет события окончания: конец считаем из задержки, длительности и числа повторов
+        @SuppressWarnings("unchecked")
+        private synchronized void onAnimationStarted(Map<String, Object> params) {
+            Map<String, Object> animation = (Map<String, Object>) params.get("animation");
+            Map<String, Object> source = (Map<String, Object>) animation.get("source");
+            if (source == null) {
+                return;
+            }
+            double iterations = number(source.get("iterations"), 1);
+            if (Double.isInfinite(iterations) || iterations <= 0) {
+                // Бесконечные анимации (спиннеры) никогда не закончатся, их не ждём
+                return;
+            }
+            double rate = number(animation.get("playbackRate"), 1);
+            double millis = (number(source.get("delay"), 0) + number(source.get("duration"), 0) * iterations
+                    + number(source.get("endDelay"), 0)) / (rate > 0 ? rate : 1);
+            animations.put(String.valueOf(animation.get("id")), System.nanoTime() + (long) (millis * 1_000_000));
+            notifyAll();
+        }
+    }
+}
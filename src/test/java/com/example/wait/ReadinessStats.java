@@ -0,0 +1,27 @@
+package com.example.wait;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class ReadinessStats {
+
+    long waits;
+    long fallbackWaits;
+    long timeouts;
+    long totalWaitNanos;
+    long totalReplacedSleepNanos;
+
+    // Время, которое заняли бы фиксированные паузы, минус фактическое ожидание стабильности
+    public double getSavedMillis() {
+        return (totalReplacedSleepNanos - totalWaitNanos) / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("waits=%d (без CDP %d), timeouts=%d, waited %.1f s вместо %.1f s пауз, сэкономлено %.1f s",
+                waits, fallbackWaits, timeouts, totalWaitNanos / 1e9, totalReplacedSleepNanos / 1e9,
+                getSavedMillis() / 1000);
+    }
+}
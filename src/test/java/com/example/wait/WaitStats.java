@@ -0,0 +1,37 @@
+package com.example.wait;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class WaitStats {
+
+    long waits;
+    long timeouts;
+    long navigationRetries;
+    long totalWaitNanos;
+    long maxWaitNanos;
+    long totalBudgetNanos;
+
+    public double getAverageWaitMillis() {
+        return waits == 0 ? 0 : totalWaitNanos / 1_000_000.0 / waits;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitNanos / 1_000_000.0;
+    }
+
+    // Доля бюджета, которую ожидания реально заняли: для фиксированных sleep она была бы 100%
+    public double getBudgetUsage() {
+        return totalBudgetNanos == 0 ? 0 : (double) totalWaitNanos / totalBudgetNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("waits=%d, timeouts=%d, navigation retries=%d, avg=%.1f ms, max=%.1f ms, "
+                        + "waited %.1f s of %.1f s budget (%.0f%%)",
+                waits, timeouts, navigationRetries, getAverageWaitMillis(), getMaxWaitMillis(),
+                totalWaitNanos / 1e9, totalBudgetNanos / 1e9, getBudgetUsage() * 100);
+    }
+}
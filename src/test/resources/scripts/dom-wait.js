@@ -0,0 +1,109 @@
+// Ожидание условия на странице без опроса: условие проверяется сразу и затем на каждую пачку мутаций DOM.
+// arguments[0] — условие {type, using, value, text, url, count, quietMillis}, arguments[1] — бюджет в мс,
+// последний аргумент — callback executeAsyncScript. Функция find подставляется из find-element.js
+var condition = arguments[0];
+var budget = arguments[1];
+var done = arguments[arguments.length - 1];
+var observer = null;
+var timer = null;
+var quietTimer = null;
+var finished = false;
+
+function isVisible(el) {
+    if (typeof el.checkVisibility === 'function') {
+        return el.checkVisibility({visibilityProperty: true});
+    }
+    return el.getClientRects().length > 0 && getComputedStyle(el).visibility !== 'hidden';
+}
+
+function countAll(spec) {
+    if (spec.using === 'xpath') {
+        return document.evaluate(spec.value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null)
+            .snapshotLength;
+    }
+    if (spec.using === 'css selector') {
+        return document.querySelectorAll(spec.value).length;
+    }
+    return find(spec) ? 1 : 0;
+}
+
+function check() {
+    var el;
+    switch (condition.type) {
+        case 'present':
+            el = find(condition);
+            return el ? {element: el} : null;
+        case 'visible':
+            el = find(condition);
+            return el && isVisible(el) ? {element: el} : null;
+        case 'text':
+            el = condition.using ? find(condition) : document.body;
+            return el && el.innerText.indexOf(condition.text) >= 0 ? {element: el} : null;
+        case 'url':
+            return location.href.indexOf(condition.url) >= 0 ? {url: location.href} : null;
+        case 'urlChange':
+            return location.href !== condition.url ? {url: location.href} : null;
+        case 'count':
+            var count = countAll(condition);
+            return count > condition.count ? {count: count} : null;
+        default:
+            throw new Error('Неизвестное условие ожидания: ' + condition.type);
+    }
+}
+
+function finish(result) {
+    if (finished) {
+        return;
+    }
+    finished = true;
+    if (observer) {
+        observer.disconnect();
+    }
+    clearTimeout(timer);
+    clearTimeout(quietTimer);
+    window.removeEventListener('popstate', evaluate);
+    window.removeEventListener('hashchange', evaluate);
+    document.removeEventListener('transitionend', evaluate, true);
+    document.removeEventListener('animationend', evaluate, true);
+    done(result);
+}
+
+function evaluate() {
+    var result = check();
+    if (result) {
+        result.met = true;
+        finish(result);
+    }
+}
+
+// Тишина DOM: ни одной мутации за quietMillis
+function restartQuietTimer() {
+    clearTimeout(quietTimer);
+    quietTimer = setTimeout(function () {
+        finish({met: true});
+    }, condition.quietMillis);
+}
+
+timer = setTimeout(function () {
+    finish({met: false});
+}, budget);
+
+if (condition.type === 'quiet') {
+    observer = new MutationObserver(restartQuietTimer);
+    restartQuietTimer();
+} else {
+    evaluate();
+    if (!finished) {
+        observer = new MutationObserver(evaluate);
+        window.addEventListener('popstate', evaluate);
+        window.addEventListener('hashchange', evaluate);
+        // Видимость меняется и CSS-переходами, которые MutationObserver не видит
+        document.addEventListener('transitionend', evaluate, true);
+        document.addEventListener('animationend', evaluate, true);
+    }
+}
+if (observer) {
+    observer.observe(document.documentElement, {
+        childList: true, subtree: true, attributes: true, characterData: true
+    });
+}
@@ -0,0 +1,34 @@
+// Поиск элемента по спецификации {using, value, element}, общий для скриптов над элементами страницы.
+// Локаторы без удалённой формы разрешаются на стороне Java и приходят готовым элементом
+function byLinkText(text, partial) {
+    var links = document.querySelectorAll('a');
+    for (var i = 0; i < links.length; i++) {
+        var linkText = links[i].innerText.trim();
+        if (partial ? linkText.indexOf(text) >= 0 : linkText === text) {
+            return links[i];
+        }
+    }
+    return null;
+}
+
+function find(spec) {
+    if (spec.element !== undefined) {
+        return spec.element;
+    }
+    switch (spec.using) {
+        case 'css selector':
+            return document.querySelector(spec.value);
+        case 'xpath':
+            return document.evaluate(spec.value, document, null,
+                XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;
+        case 'tag name':
+            return document.getElementsByTagName(spec.value)[0] || null;
+        case 'link text':
+            return byLinkText(spec.value, false);
+        case 'partial link text':
+            return byLinkText(spec.value, true);
+        default:
+            return null;
+    }
+}
+
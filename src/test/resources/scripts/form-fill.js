@@ -0,0 +1,84 @@
+// Заполнение полей формы за один вызов executeScript.
+// arguments[0] — список {name, using, value, element, fill}; функция find подставляется из find-element.js.
+// Для каждого поля возвращает 'native', 'keystrokes' (заполнить с клавиатуры на стороне Java), 'missing'
+// или 'uncheckRadio' (снять выбор с radio нельзя, только выбрав другой вариант группы)
+var specs = arguments[0];
+var result = {};
+
+function fire(el, type) {
+    el.dispatchEvent(new Event(type, {bubbles: true}));
+}
+
+function setValue(el, value) {
+    // Сеттер прототипа, а не el.value =: фреймворки подменяют свойство на экземпляре и иначе не видят изменения
+    var proto = el.tagName === 'TEXTAREA' ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;
+    Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, value);
+    fire(el, 'input');
+    fire(el, 'change');
+    return el.value === value;
+}
+
+function selectOption(el, value) {
+    var options = Array.prototype.slice.call(el.options);
+    var option = options.filter(function (o) { return o.value === value; })[0]
+        || options.filter(function (o) { return o.text.trim() === value; })[0];
+    if (!option || option.disabled) {
+        return false;
+    }
+    el.value = option.value;
+    fire(el, 'input');
+    fire(el, 'change');
+    return true;
+}
+
+function check(el, value) {
+    var wanted = value === 'true';
+    if (el.type === 'radio' && !wanted) {
+        return !el.checked;
+    }
+    if (el.checked !== wanted) {
+        // click сам генерирует input и change, как при настоящем клике
+        el.click();
+    }
+    return el.checked === wanted;
+}
+
+function fill(el, value) {
+    var type = (el.type || '').toLowerCase();
+    if (el.disabled || el.readOnly || type === 'file') {
+        return false;
+    }
+    if (el.tagName === 'SELECT') {
+        return selectOption(el, value);
+    }
+    if (type === 'checkbox' || type === 'radio') {
+        return check(el, value);
+    }
+    if (el.tagName === 'TEXTAREA' || el.tagName === 'INPUT') {
+        return setValue(el, value);
+    }
+    return false;
+}
+
+specs.forEach(function (spec) {
+    var el = find(spec);
+    if (!el) {
+        result[spec.name] = 'missing';
+        return;
+    }
+    if (el.type === 'radio' && el.checked && spec.fill !== 'true') {
+        result[spec.name] = 'uncheckRadio';
+        return;
+    }
+    el.focus();
+    var filled = fill(el, spec.fill);
+    if (document.activeElement === el) {
+        el.blur();
+    } else {
+        // Вкладка без фокуса не генерирует blur при el.blur(), обработчики валидации вызываем сами
+        el.dispatchEvent(new FocusEvent('blur'));
+        el.dispatchEvent(new FocusEvent('focusout', {bubbles: true}));
+    }
+    result[spec.name] = filled ? 'native' : 'keystrokes';
+});
+return result;
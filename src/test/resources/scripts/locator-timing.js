@@ -0,0 +1,69 @@
+// Замер локаторов внутри браузера, без накладных расходов WebDriver на каждый поиск.
+// arguments[0] — список {name, using, value}, arguments[1] — число повторов.
+// Для найденного элемента перебираются более простые локаторы, которые находят тот же элемент первым.
+// Функция find подставляется из find-element.js
+var specs = arguments[0];
+var iterations = arguments[1];
+
+function micros(spec) {
+    var start = performance.now();
+    for (var i = 0; i < iterations; i++) {
+        find(spec);
+    }
+    return (performance.now() - start) * 1000 / iterations;
+}
+
+function quote(value) {
+    return '"' + value.replace(/\\/g, '\\\\').replace(/"/g, '\\"') + '"';
+}
+
+function candidates(el) {
+    var tag = el.tagName.toLowerCase();
+    var result = [];
+    if (el.id) {
+        result.push({annotation: 'id = ' + quote(el.id), value: '#' + CSS.escape(el.id)});
+    }
+    var name = el.getAttribute('name');
+    if (name) {
+        result.push({annotation: 'name = ' + quote(name), value: '*[name=' + quote(name) + ']'});
+    }
+    var href = el.getAttribute('href');
+    if (href) {
+        result.push({annotation: 'css = ' + quote(tag + '[href=' + quote(href) + ']'),
+            value: tag + '[href=' + quote(href) + ']'});
+    }
+    if (el.classList.length > 0) {
+        var classes = Array.prototype.map.call(el.classList, CSS.escape);
+        var compound = tag + '.' + classes.join('.');
+        result.push({annotation: 'css = ' + quote(compound), value: compound});
+        classes.forEach(function (cls) {
+            result.push({annotation: 'className = ' + quote(cls), value: '.' + cls});
+        });
+    }
+    result.push({annotation: 'tagName = ' + quote(tag), value: tag});
+    return result.filter(function (candidate) {
+        try {
+            return document.querySelector(candidate.value) === el;
+        } catch (e) {
+            return false;
+        }
+    });
+}
+
+var result = {};
+specs.forEach(function (spec) {
+    var el = find(spec);
+    if (!el) {
+        result[spec.name] = {found: false};
+        return;
+    }
+    var timed = candidates(el).map(function (candidate) {
+        return {
+            annotation: candidate.annotation,
+            micros: micros({using: 'css selector', value: candidate.value})
+        };
+    });
+    timed.sort(function (a, b) { return a.micros - b.micros; });
+    result[spec.name] = {found: true, micros: micros(spec), candidates: timed};
+});
+return result;
@@ -0,0 +1,38 @@
+// Снимок состояния элементов страницы за один вызов executeScript.
+// arguments[0] — список {name, using, value, element}, arguments[1] — имена атрибутов.
+// Функция find подставляется из find-element.js
+var specs = arguments[0];
+var attributes = arguments[1];
+
+function isDisplayed(el) {
+    if (typeof el.checkVisibility === 'function') {
+        return el.checkVisibility({visibilityProperty: true});
+    }
+    return el.getClientRects().length > 0 && getComputedStyle(el).visibility !== 'hidden';
+}
+
+var result = {};
+specs.forEach(function (spec) {
+    var el = find(spec);
+    if (!el) {
+        result[spec.name] = {present: false};
+        return;
+    }
+    var displayed = isDisplayed(el);
+    var requested = {};
+    attributes.forEach(function (name) {
+        requested[name] = el.getAttribute(name);
+    });
+    result[spec.name] = {
+        present: true,
+        value: 'value' in el ? String(el.value) : el.getAttribute('value'),
+        text: displayed ? el.innerText.trim() : '',
+        displayed: displayed,
+        enabled: !el.matches(':disabled'),
+        selected: !!(el.checked || el.selected),
+        selectedOption: el.tagName === 'SELECT' && el.selectedOptions.length > 0
+            ? el.selectedOptions[0].text.trim() : null,
+        attributes: requested
+    };
+});
+return result;